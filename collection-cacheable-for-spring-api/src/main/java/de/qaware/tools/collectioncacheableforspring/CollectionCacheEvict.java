@@ -0,0 +1,97 @@
+/*-
+ * #%L
+ * Collection Cacheable for Spring :: API
+ * %%
+ * Copyright (C) 2020 QAware GmbH
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+package de.qaware.tools.collectioncacheableforspring;
+
+import org.springframework.core.annotation.AliasFor;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Inherited;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+
+/**
+ * Annotation for evicting the entries of all ids of a {@link java.util.Collection}
+ * from the cache, for example on methods deleting many entities at once.
+ * The keys are generated per id like for {@link CollectionCacheable}.
+ *
+ * <p>This annotation is related to {@link org.springframework.cache.annotation.CacheEvict}.
+ * See the project's README for a detailed explanation how this annotation should be used.
+ */
+@Target({ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+@Inherited
+@Documented
+public @interface CollectionCacheEvict {
+
+    /**
+     * Alias for {@link #cacheNames}.
+     *
+     * @see #cacheNames
+     */
+    @AliasFor("cacheNames")
+    String[] value() default {};
+
+    /**
+     * @see #value
+     * @see org.springframework.cache.annotation.CacheEvict#cacheNames
+     */
+    @AliasFor("value")
+    String[] cacheNames() default {};
+
+    /**
+     * The {@code p0} parameter points to an item of the
+     * given collection, not to the collection itself.
+     *
+     * @see org.springframework.cache.annotation.CacheEvict#key
+     */
+    String key() default "";
+
+    /**
+     * @see org.springframework.cache.annotation.CacheEvict#keyGenerator
+     */
+    String keyGenerator() default "";
+
+    /**
+     * @see org.springframework.cache.annotation.CacheEvict#cacheManager
+     */
+    String cacheManager() default "";
+
+    /**
+     * @see org.springframework.cache.annotation.CacheEvict#cacheResolver
+     */
+    String cacheResolver() default "";
+
+    /**
+     * The condition is evaluated with the whole collection,
+     * like for {@link CollectionCacheable#condition()}.
+     *
+     * @see org.springframework.cache.annotation.CacheEvict#condition
+     */
+    String condition() default "";
+
+    /**
+     * @see org.springframework.cache.annotation.CacheEvict#beforeInvocation
+     */
+    boolean beforeInvocation() default false;
+}
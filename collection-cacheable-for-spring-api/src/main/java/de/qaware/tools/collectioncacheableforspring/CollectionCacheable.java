@@ -33,6 +33,11 @@ import java.lang.annotation.Target;
 /**
  * Annotation for filling the cache from methods returning a {@link
  * java.util.Map} and accepting a {@link java.util.Collection} of IDs.
+ * The IDs may also be passed as {@code long[]} or {@code int[]}.
+ * Methods returning a {@link java.util.concurrent.CompletableFuture} of
+ * such a map are supported as well. If Reactor is on the classpath, methods
+ * returning a {@code Mono} of such a map, or a {@code Flux} of items
+ * implementing {@code HasCacheKey}, are supported, too.
  *
  * <p>This annotation is related to {@link org.springframework.cache.annotation.Cacheable}.
  * See the project's README for a detailed explanation how this annotation should be used.
@@ -97,4 +102,128 @@ public @interface CollectionCacheable {
      * subsequent invocation won't query those items again.
      */
     boolean putNull() default false;
+
+    /**
+     * If set to true, ids which are concurrently requested by
+     * several threads are only passed to the method once. Threads
+     * requesting an id which is already being loaded wait for
+     * that load instead, and the method is only invoked with the
+     * remaining ids.
+     *
+     * @see org.springframework.cache.annotation.Cacheable#sync
+     */
+    boolean sync() default false;
+
+    /**
+     * If set to a positive value, the method is invoked with
+     * at most this many ids at once. The ids not found in the
+     * cache are then split into batches, for each of which the
+     * method is invoked separately. Defaults to {@code 0},
+     * which means that the method is invoked with all ids at once.
+     */
+    int maxBatchSize() default 0;
+
+    /**
+     * The bean name of the {@link java.util.concurrent.Executor} used to
+     * invoke the method for several batches in parallel. Requires
+     * {@link #maxBatchSize()}, {@link #refreshAheadMillis()} or
+     * {@link #staleAfterMillis()} to be set.
+     * By default, the batches are invoked one after the other in the
+     * calling thread. Required for {@link #refreshAheadMillis()} and
+     * {@link #staleAfterMillis()}.
+     *
+     * <p>State bound to the calling thread, such as the transaction, the
+     * security context or the logging MDC, is not available on the executor
+     * threads, unless the executor propagates it, for example with a
+     * {@code TaskDecorator}. While a transaction is active, the batches are
+     * therefore invoked in the calling thread.
+     */
+    String executor() default "";
+
+    /**
+     * The maximum number of batches invoked in parallel on the
+     * {@link #executor()}. Defaults to {@code 0}, which means
+     * that all batches are submitted to the executor at once.
+     * The batches invoked on the executor do not see the state bound
+     * to the calling thread, see {@link #executor()}.
+     */
+    int parallelism() default 0;
+
+    /**
+     * If set to true, the caches are used as tiers in the order of
+     * {@link #cacheNames()}, for example an in-process cache in front
+     * of a remote cache. Ids missing in a cache are looked up in the
+     * next one, and hits found there are put into all caches before.
+     * Values are always put into all caches.
+     */
+    boolean tiered() default false;
+
+    /**
+     * If set to a positive value, cache hits expiring within this many
+     * milliseconds are still returned, but their ids are reloaded in the
+     * background on the {@link #executor()}, which must be set, by invoking
+     * the method, split into batches of at most
+     * {@link #maxBatchSize()} ids. Only caches implementing
+     * {@code ExpiryAwareCache} can tell when their entries expire.
+     * Not supported for asynchronous or reactive methods.
+     * Defaults to {@code 0}, which disables refreshing ahead.
+     */
+    long refreshAheadMillis() default 0;
+
+    /**
+     * If set to a positive value, cache hits written longer ago than this
+     * many milliseconds are considered stale. Stale hits are still returned
+     * immediately, but their ids are reloaded in the background on the
+     * {@link #executor()}, which must be set, like for
+     * {@link #refreshAheadMillis()}. Entries are removed once the expiry
+     * configured for the cache has passed. Only works with caches implementing
+     * {@code ExpiryAwareCache}, as only they can tell how old their entries are.
+     * Entries of other caches, for example a plain {@code ConcurrentMapCache},
+     * are never refreshed. Defaults to {@code 0}, which disables serving
+     * stale entries.
+     */
+    long staleAfterMillis() default 0;
+
+    /**
+     * If set to true on a synchronous "findAll" method, the ids of its
+     * result are put into the cache as well. Later invocations are then
+     * served from the cache as long as the ids and all their values are
+     * still cached, so removing any of them, for example by eviction or
+     * expiry, makes the next invocation load everything again.
+     */
+    boolean findAllFromCache() default false;
+
+    /**
+     * If set to a positive value, the explicit {@code null} entries of
+     * {@link #putNull()} expire after this many milliseconds, independent of
+     * the entries with a value. Only caches implementing {@code TimeToLiveCache}
+     * support this, others keep the time to live configured for the cache.
+     * Defaults to {@code 0}, which uses the time to live of the cache.
+     */
+    long nullTtlMillis() default 0;
+
+    /**
+     * If set to a positive value, the ids the method did not return a value
+     * for are recorded in a Bloom filter sized for this many ids, instead of
+     * putting explicit {@code null} values into the cache like {@link #putNull()}.
+     * Ids not found in the cache are not passed to the method if they are
+     * recorded in the filter. The filter needs about {@code 1.44 * log2(1 / rate)} bits
+     * per id, twice, as it is rotated. Defaults to {@code 0}, which disables
+     * the filter.
+     */
+    int absentIdsFilterSize() default 0;
+
+    /**
+     * The rate at which the filter of {@link #absentIdsFilterSize()} falsely
+     * reports an id as absent, as long as at most that many ids are recorded
+     * within one rotation period. Such ids are missing in the result.
+     */
+    double absentIdsFalsePositiveRate() default 0.01;
+
+    /**
+     * The period after which the filter of {@link #absentIdsFilterSize()}
+     * is rotated. An id is reported as absent for at least one and at most
+     * two periods after it has been recorded.
+     */
+    long absentIdsRotationMillis() default 600_000;
 }
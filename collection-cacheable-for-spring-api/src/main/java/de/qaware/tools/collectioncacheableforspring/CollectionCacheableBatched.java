@@ -0,0 +1,82 @@
+/*-
+ * #%L
+ * Collection Cacheable for Spring :: API
+ * %%
+ * Copyright (C) 2020 QAware GmbH
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+package de.qaware.tools.collectioncacheableforspring;
+
+import org.springframework.core.annotation.AliasFor;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Inherited;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+
+/**
+ * Annotation for methods accepting a single ID and annotated with
+ * {@link org.springframework.cache.annotation.Cacheable}, which links them
+ * to a {@link CollectionCacheable} method of the same class accepting a
+ * {@link java.util.Collection} of IDs.
+ *
+ * <p>On a cache miss, the single ID is not loaded by invoking the annotated
+ * method. Instead, it is collected together with the IDs of concurrent cache
+ * misses, and the collection method is invoked once for all of them.
+ * The collection method is invoked through the proxy of the bean, so its
+ * caching and other advice like transactions apply to these invocations.
+ * See the project's README for a detailed explanation how this annotation should be used.
+ */
+@Target({ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+@Inherited
+@Documented
+public @interface CollectionCacheableBatched {
+
+    /**
+     * Alias for {@link #method}.
+     *
+     * @see #method
+     */
+    @AliasFor("method")
+    String value() default "";
+
+    /**
+     * Name of the {@link CollectionCacheable} method used to load the
+     * collected IDs. It must be declared by the same class and accept
+     * exactly one {@link java.util.Collection}-like argument.
+     */
+    @AliasFor("value")
+    String method() default "";
+
+    /**
+     * The maximum number of IDs loaded with one invocation of the
+     * collection method. The collection method is invoked right away
+     * once this many IDs have been collected.
+     */
+    int maxBatchSize() default 100;
+
+    /**
+     * The maximum time in milliseconds the first cache miss of a batch
+     * waits for further cache misses, before the collection method is invoked.
+     * A cache miss only waits while another batch is being loaded, otherwise
+     * the collection method is invoked right away.
+     */
+    long maxDelayMillis() default 10;
+}
@@ -0,0 +1,86 @@
+/*-
+ * #%L
+ * Collection Cacheable for Spring :: Benchmarks
+ * %%
+ * Copyright (C) 2020 QAware GmbH
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+package de.qaware.tools.collectioncacheableforspring.benchmark;
+
+import de.qaware.tools.collectioncacheableforspring.CollectionCacheableAutoConfiguration;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Configuration(proxyBeanMethods = false)
+@EnableCaching
+@Import(CollectionCacheableAutoConfiguration.class)
+public class BenchmarkConfig {
+
+    @Bean
+    public CacheManager cacheManager() {
+        return new CaffeineCacheManager(
+                BenchmarkRepository.CACHE_NAME,
+                BenchmarkRepository.LIST_CACHE_NAME,
+                BenchmarkRepository.PUT_NULL_CACHE_NAME,
+                BenchmarkRepository.KEY_CACHE_NAME,
+                BenchmarkRepository.LIST_PUT_NULL_CACHE_NAME,
+                BenchmarkRepository.LONG_ARRAY_CACHE_NAME
+        );
+    }
+
+    @Bean
+    public BenchmarkRepository benchmarkRepository() {
+        return new BenchmarkRepository();
+    }
+
+    /**
+     * Start an application context with the benchmark configuration.
+     *
+     * @param additionalConfigs further configuration classes to register
+     * @return refreshed application context
+     */
+    public static AnnotationConfigApplicationContext start(Class<?>... additionalConfigs) {
+        AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext();
+        context.register(BenchmarkConfig.class);
+        if (additionalConfigs.length > 0) {
+            context.register(additionalConfigs);
+        }
+        context.refresh();
+        return context;
+    }
+
+    /**
+     * Create the ids {@code 0, ..., size - 1}.
+     *
+     * @param size number of ids
+     * @return list of ids
+     */
+    public static List<Long> ids(int size) {
+        List<Long> ids = new ArrayList<>(size);
+        for (long id = 0; id < size; id++) {
+            ids.add(id);
+        }
+        return ids;
+    }
+}
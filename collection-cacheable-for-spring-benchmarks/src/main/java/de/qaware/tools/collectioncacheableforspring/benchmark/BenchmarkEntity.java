@@ -0,0 +1,43 @@
+/*-
+ * #%L
+ * Collection Cacheable for Spring :: Benchmarks
+ * %%
+ * Copyright (C) 2020 QAware GmbH
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+package de.qaware.tools.collectioncacheableforspring.benchmark;
+
+import de.qaware.tools.collectioncacheableforspring.returnvalue.HasCacheKey;
+
+public class BenchmarkEntity implements HasCacheKey {
+
+    private final Long id;
+    private final String value;
+
+    public BenchmarkEntity(Long id, String value) {
+        this.id = id;
+        this.value = value;
+    }
+
+    public String getValue() {
+        return value;
+    }
+
+    @Override
+    public Object getCacheKey() {
+        return id;
+    }
+}
@@ -0,0 +1,131 @@
+/*-
+ * #%L
+ * Collection Cacheable for Spring :: Benchmarks
+ * %%
+ * Copyright (C) 2020 QAware GmbH
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+package de.qaware.tools.collectioncacheableforspring.benchmark;
+
+import de.qaware.tools.collectioncacheableforspring.CollectionCacheable;
+import org.springframework.cache.annotation.CacheConfig;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Repository simulating an efficient batch retrieval, which
+ * does not cost anything besides building the result map.
+ */
+@CacheConfig(cacheNames = BenchmarkRepository.CACHE_NAME)
+public class BenchmarkRepository {
+
+    public static final String CACHE_NAME = "benchmark";
+
+    public static final String LIST_CACHE_NAME = "benchmarkList";
+
+    public static final String PUT_NULL_CACHE_NAME = "benchmarkPutNull";
+
+    public static final String KEY_CACHE_NAME = "benchmarkKey";
+
+    public static final String LIST_PUT_NULL_CACHE_NAME = "benchmarkListPutNull";
+
+    public static final String LONG_ARRAY_CACHE_NAME = "benchmarkLongArray";
+
+    static final String VALUE = "value";
+
+    @CollectionCacheable
+    public Map<Long, String> findByIds(Collection<Long> ids) {
+        return findByIdsUncached(ids);
+    }
+
+    @CollectionCacheable(LIST_CACHE_NAME)
+    public List<BenchmarkEntity> findByIdsList(Collection<Long> ids) {
+        List<BenchmarkEntity> result = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            result.add(new BenchmarkEntity(id, VALUE));
+        }
+        return result;
+    }
+
+    /**
+     * Only finds even ids, so that half of the misses are cached as {@code null}.
+     */
+    @CollectionCacheable(cacheNames = PUT_NULL_CACHE_NAME, putNull = true)
+    public Map<Long, String> findByIdsPutNull(Collection<Long> ids) {
+        Map<Long, String> result = new HashMap<>();
+        for (Long id : ids) {
+            if (id % 2 == 0) {
+                result.put(id, VALUE);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Only finds even ids, so that half of the misses are cached as {@code null}.
+     */
+    @CollectionCacheable(cacheNames = LIST_PUT_NULL_CACHE_NAME, putNull = true)
+    public List<BenchmarkEntity> findByIdsListPutNull(Collection<Long> ids) {
+        List<BenchmarkEntity> result = new ArrayList<>(ids.size() / 2 + 1);
+        for (Long id : ids) {
+            if (id % 2 == 0) {
+                result.add(new BenchmarkEntity(id, VALUE));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Evaluates a SpEL key expression for each id, which results in the same keys as the default key generator.
+     */
+    @CollectionCacheable(cacheNames = KEY_CACHE_NAME, key = "#p0")
+    public Map<Long, String> findByIdsWithKey(Collection<Long> ids) {
+        return findByIdsUncached(ids);
+    }
+
+    @CollectionCacheable(LONG_ARRAY_CACHE_NAME)
+    public Map<Long, String> findByLongIds(long[] ids) {
+        Map<Long, String> result = new HashMap<>();
+        for (long id : ids) {
+            result.put(id, VALUE);
+        }
+        return result;
+    }
+
+    @Cacheable
+    public String findById(Long id) {
+        return VALUE;
+    }
+
+    @CacheEvict
+    public void evict(Long id) {
+        // only evicts the id from the cache
+    }
+
+    public Map<Long, String> findByIdsUncached(Collection<Long> ids) {
+        Map<Long, String> result = new HashMap<>();
+        for (Long id : ids) {
+            result.put(id, VALUE);
+        }
+        return result;
+    }
+}
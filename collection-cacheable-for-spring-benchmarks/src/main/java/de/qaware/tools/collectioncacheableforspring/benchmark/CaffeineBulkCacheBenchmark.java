@@ -0,0 +1,101 @@
+/*-
+ * #%L
+ * Collection Cacheable for Spring :: Benchmarks
+ * %%
+ * Copyright (C) 2020 QAware GmbH
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+package de.qaware.tools.collectioncacheableforspring.benchmark;
+
+import de.qaware.tools.collectioncacheableforspring.CollectionCacheableCaffeineAutoConfiguration;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the per-key path against the bulk path of the
+ * {@link de.qaware.tools.collectioncacheableforspring.cache.caffeine.CaffeineBulkCache}
+ * on a {@link org.springframework.cache.caffeine.CaffeineCacheManager}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CaffeineBulkCacheBenchmark {
+
+    @Param({"10", "1000"})
+    private int size;
+
+    @Param({"false", "true"})
+    private boolean bulk;
+
+    private AnnotationConfigApplicationContext context;
+    private BenchmarkRepository repository;
+    private Cache cache;
+    private List<Long> ids;
+
+    @Setup
+    public void setUp() {
+        context = bulk ? BenchmarkConfig.start(CollectionCacheableCaffeineAutoConfiguration.class) : BenchmarkConfig.start();
+        repository = context.getBean(BenchmarkRepository.class);
+        cache = Objects.requireNonNull(context.getBean(CacheManager.class).getCache(BenchmarkRepository.CACHE_NAME));
+        ids = BenchmarkConfig.ids(size);
+        repository.findByIds(ids);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Map<Long, String> allHit() {
+        return repository.findByIds(ids);
+    }
+
+    @Benchmark
+    public Map<Long, String> allMiss(ClearedCache clearedCache) {
+        return repository.findByIds(ids);
+    }
+
+    @State(Scope.Thread)
+    public static class ClearedCache {
+        @Setup(Level.Invocation)
+        public void clear(CaffeineBulkCacheBenchmark benchmark) {
+            benchmark.cache.clear();
+        }
+    }
+}
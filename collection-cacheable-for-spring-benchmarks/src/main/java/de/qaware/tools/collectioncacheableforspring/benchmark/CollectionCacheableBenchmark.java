@@ -0,0 +1,146 @@
+/*-
+ * #%L
+ * Collection Cacheable for Spring :: Benchmarks
+ * %%
+ * Copyright (C) 2020 QAware GmbH
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+package de.qaware.tools.collectioncacheableforspring.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the cost of the interceptor for the different kinds of {@code @CollectionCacheable} methods,
+ * compared to calling the repository directly. A share of {@link #hitPercent} of the ids is found in the
+ * cache, the remaining ids are evicted before each invocation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CollectionCacheableBenchmark {
+
+    @Param({"1", "100", "10000", "100000"})
+    private int size;
+
+    @Param({"0", "50", "100"})
+    private int hitPercent;
+
+    private AnnotationConfigApplicationContext context;
+    private BenchmarkRepository repository;
+    private List<Cache> caches;
+    private List<Long> ids;
+    private long[] longIds;
+    private List<Long> missingIds;
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkConfig.start();
+        repository = context.getBean(BenchmarkRepository.class);
+        CacheManager cacheManager = context.getBean(CacheManager.class);
+        caches = new ArrayList<>();
+        for (String cacheName : cacheManager.getCacheNames()) {
+            caches.add(Objects.requireNonNull(cacheManager.getCache(cacheName)));
+        }
+        ids = BenchmarkConfig.ids(size);
+        int hits = size * hitPercent / 100;
+        missingIds = ids.subList(hits, size);
+        longIds = ids.stream().mapToLong(Long::longValue).toArray();
+
+        List<Long> cachedIds = ids.subList(0, hits);
+        repository.findByIds(cachedIds);
+        repository.findByIdsList(cachedIds);
+        repository.findByIdsPutNull(cachedIds);
+        repository.findByIdsWithKey(cachedIds);
+        repository.findByIdsListPutNull(cachedIds);
+        repository.findByLongIds(cachedIds.stream().mapToLong(Long::longValue).toArray());
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Map<Long, String> baseline() {
+        return repository.findByIdsUncached(ids);
+    }
+
+    @Benchmark
+    public Map<Long, String> map(EvictedMisses evictedMisses) {
+        return repository.findByIds(ids);
+    }
+
+    @Benchmark
+    public List<BenchmarkEntity> list(EvictedMisses evictedMisses) {
+        return repository.findByIdsList(ids);
+    }
+
+    @Benchmark
+    public Map<Long, String> putNull(EvictedMisses evictedMisses) {
+        return repository.findByIdsPutNull(ids);
+    }
+
+    @Benchmark
+    public List<BenchmarkEntity> listPutNull(EvictedMisses evictedMisses) {
+        return repository.findByIdsListPutNull(ids);
+    }
+
+    @Benchmark
+    public Map<Long, String> longArray(EvictedMisses evictedMisses) {
+        return repository.findByLongIds(longIds);
+    }
+
+    @Benchmark
+    public Map<Long, String> spelKey(EvictedMisses evictedMisses) {
+        return repository.findByIdsWithKey(ids);
+    }
+
+    @State(Scope.Thread)
+    public static class EvictedMisses {
+        @Setup(Level.Invocation)
+        public void evict(CollectionCacheableBenchmark benchmark) {
+            for (Cache cache : benchmark.caches) {
+                for (Long id : benchmark.missingIds) {
+                    cache.evict(id);
+                }
+            }
+        }
+    }
+}
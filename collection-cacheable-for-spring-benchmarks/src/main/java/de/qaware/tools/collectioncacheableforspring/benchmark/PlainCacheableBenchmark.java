@@ -0,0 +1,105 @@
+/*-
+ * #%L
+ * Collection Cacheable for Spring :: Benchmarks
+ * %%
+ * Copyright (C) 2020 QAware GmbH
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+package de.qaware.tools.collectioncacheableforspring.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares plain {@code @Cacheable} and {@code @CacheEvict} methods intercepted by
+ * the collection cacheable interceptor with the stock Spring cache interceptor.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PlainCacheableBenchmark {
+
+    private static final Long ID = 42L;
+
+    @Param({"stock", "collection"})
+    private String interceptor;
+
+    private AnnotationConfigApplicationContext context;
+    private BenchmarkRepository repository;
+
+    @Setup
+    public void setUp() {
+        context = "stock".equals(interceptor) ?
+                new AnnotationConfigApplicationContext(StockConfig.class) :
+                BenchmarkConfig.start();
+        repository = context.getBean(BenchmarkRepository.class);
+        repository.findById(ID);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public String cacheableHit() {
+        return repository.findById(ID);
+    }
+
+    @Benchmark
+    public void cacheEvict() {
+        repository.evict(-1L);
+    }
+
+    /**
+     * Same as {@link BenchmarkConfig}, but without the collection cacheable auto configuration.
+     */
+    @Configuration(proxyBeanMethods = false)
+    @EnableCaching
+    public static class StockConfig {
+
+        @Bean
+        public CacheManager cacheManager() {
+            return new CaffeineCacheManager(BenchmarkRepository.CACHE_NAME);
+        }
+
+        @Bean
+        public BenchmarkRepository benchmarkRepository() {
+            return new BenchmarkRepository();
+        }
+    }
+}
@@ -0,0 +1,89 @@
+/*-
+ * #%L
+ * Collection Cacheable for Spring :: Benchmarks
+ * %%
+ * Copyright (C) 2020 QAware GmbH
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+package de.qaware.tools.collectioncacheableforspring.benchmark;
+
+import de.qaware.tools.collectioncacheableforspring.returnvalue.DefaultReturnValueConverter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures accessing the map returned by the {@link DefaultReturnValueConverter}
+ * compared to accessing the converted map directly.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ReturnValueConverterBenchmark {
+
+    @Param({"10", "1000"})
+    private int size;
+
+    @Param({"false", "true"})
+    private boolean converted;
+
+    private List<Long> ids;
+    private Map<?, ?> map;
+
+    @Setup
+    public void setUp() {
+        ids = BenchmarkConfig.ids(size);
+        Map<Object, Object> values = new HashMap<>();
+        ids.forEach(id -> values.put(id, BenchmarkRepository.VALUE));
+        map = converted ? (Map<?, ?>) new DefaultReturnValueConverter().convert(values) : values;
+    }
+
+    @Benchmark
+    public void get(Blackhole blackhole) {
+        for (Long id : ids) {
+            blackhole.consume(map.get(id));
+        }
+    }
+
+    @Benchmark
+    public void iterate(Blackhole blackhole) {
+        for (Map.Entry<?, ?> entry : map.entrySet()) {
+            blackhole.consume(entry.getValue());
+        }
+    }
+
+    @Benchmark
+    public int size() {
+        return map.size();
+    }
+}
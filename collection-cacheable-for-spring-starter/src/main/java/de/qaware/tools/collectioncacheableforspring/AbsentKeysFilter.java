@@ -0,0 +1,132 @@
+/*-
+ * #%L
+ * Collection Cacheable for Spring :: Starter
+ * %%
+ * Copyright (C) 2020 QAware GmbH
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+package de.qaware.tools.collectioncacheableforspring;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.LongSupplier;
+
+/**
+ * Bloom filter of the cache keys a method did not return a value for. Keys are
+ * added to the current filter, which is rotated periodically, so that a key is
+ * forgotten between one and two rotation periods after it was added. A key may
+ * be reported as contained although it was never added, with about the given
+ * false positive rate as long as at most the expected number of keys is added
+ * within one period.
+ */
+class AbsentKeysFilter {
+
+    private static final double LN_2 = Math.log(2);
+
+    private final int bits;
+    private final int hashes;
+    private final long rotationNanos;
+    private final LongSupplier nanoTime;
+    private final AtomicReference<Generations> generations;
+
+    AbsentKeysFilter(int expectedKeys, double falsePositiveRate, long rotationMillis) {
+        this(expectedKeys, falsePositiveRate, rotationMillis, System::nanoTime);
+    }
+
+    AbsentKeysFilter(int expectedKeys, double falsePositiveRate, long rotationMillis, LongSupplier nanoTime) {
+        long optimalBits = (long) Math.ceil(-expectedKeys * Math.log(falsePositiveRate) / (LN_2 * LN_2));
+        this.bits = (int) Math.min(Math.max(optimalBits, Long.SIZE), Integer.MAX_VALUE - Long.SIZE);
+        this.hashes = Math.max(1, (int) Math.round((double) bits / expectedKeys * LN_2));
+        this.rotationNanos = rotationMillis * 1_000_000L;
+        this.nanoTime = nanoTime;
+        this.generations = new AtomicReference<>(new Generations(newBitSet(), newBitSet(), nanoTime.getAsLong() + rotationNanos));
+    }
+
+    void add(Object key) {
+        AtomicLongArray bitSet = currentGenerations().current;
+        long hash = hash(key);
+        for (int i = 0; i < hashes; i++) {
+            int index = index(hash, i);
+            long mask = 1L << index;
+            int word = index >>> 6;
+            long value = bitSet.get(word);
+            while ((value & mask) == 0 && !bitSet.compareAndSet(word, value, value | mask)) {
+                value = bitSet.get(word);
+            }
+        }
+    }
+
+    boolean mightContain(Object key) {
+        Generations current = currentGenerations();
+        long hash = hash(key);
+        return mightContain(current.current, hash) || mightContain(current.previous, hash);
+    }
+
+    private boolean mightContain(AtomicLongArray bitSet, long hash) {
+        for (int i = 0; i < hashes; i++) {
+            int index = index(hash, i);
+            if ((bitSet.get(index >>> 6) & (1L << index)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private Generations currentGenerations() {
+        Generations current = generations.get();
+        long now = nanoTime.getAsLong();
+        if (now - current.rotateAt < 0) {
+            return current;
+        }
+        // after more than one period without any access, the previous keys are forgotten as well
+        AtomicLongArray previous = now - current.rotateAt < rotationNanos ? current.current : newBitSet();
+        Generations rotated = new Generations(newBitSet(), previous, now + rotationNanos);
+        return generations.compareAndSet(current, rotated) ? rotated : generations.get();
+    }
+
+    private AtomicLongArray newBitSet() {
+        return new AtomicLongArray((bits + Long.SIZE - 1) / Long.SIZE);
+    }
+
+    private int index(long hash, int i) {
+        // double hashing, see Kirsch and Mitzenmacher, "Less Hashing, Same Performance"
+        int combined = (int) hash + i * (int) (hash >>> 32);
+        return (combined & Integer.MAX_VALUE) % bits;
+    }
+
+    private static long hash(Object key) {
+        // spread the hash code over 64 bits with the finalizer of MurmurHash3
+        long hash = key.hashCode();
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+
+    private static final class Generations {
+        private final AtomicLongArray current;
+        private final AtomicLongArray previous;
+        private final long rotateAt;
+
+        private Generations(AtomicLongArray current, AtomicLongArray previous, long rotateAt) {
+            this.current = current;
+            this.previous = previous;
+            this.rotateAt = rotateAt;
+        }
+    }
+}
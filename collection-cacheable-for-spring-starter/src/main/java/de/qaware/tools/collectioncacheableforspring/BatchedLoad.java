@@ -0,0 +1,113 @@
+/*-
+ * #%L
+ * Collection Cacheable for Spring :: Starter
+ * %%
+ * Copyright (C) 2020 QAware GmbH
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+package de.qaware.tools.collectioncacheableforspring;
+
+import de.qaware.tools.collectioncacheableforspring.creator.CollectionCreator;
+import org.springframework.cache.interceptor.CacheOperationInvoker;
+import org.springframework.lang.Nullable;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.ConcurrentReferenceHashMap;
+import org.springframework.util.ReflectionUtils;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * Loads single ids of a method annotated with {@link CollectionCacheableBatched}
+ * in batches by invoking the linked {@link CollectionCacheable} method on the proxy,
+ * so that its caching and all other advice apply. If the proxy does not expose the
+ * method, for example a JDK proxy not implementing it, it is invoked on the target.
+ */
+class BatchedLoad {
+
+    private final Method collectionMethod;
+
+    private final CollectionCacheableOperation collectionOperation;
+
+    private final CollectionCacheableBatched batched;
+
+    private final Map<Object, MicroBatcher> batchersByTarget = new ConcurrentReferenceHashMap<>();
+
+    /**
+     * Holds the collection method to invoke on proxies by their class,
+     * which is empty if the proxy class does not expose it.
+     */
+    private final Map<Class<?>, Optional<Method>> proxyMethods = new ConcurrentReferenceHashMap<>();
+
+    BatchedLoad(Method collectionMethod, CollectionCacheableOperation collectionOperation, CollectionCacheableBatched batched) {
+        this.collectionMethod = collectionMethod;
+        this.collectionOperation = collectionOperation;
+        this.batched = batched;
+        ReflectionUtils.makeAccessible(collectionMethod);
+    }
+
+    /**
+     * Load the given id together with the ids requested concurrently on the same target.
+     *
+     * @param target target object of the invocation
+     * @param proxy  proxy the invocation was made on, or null if unknown
+     * @param id     id to load
+     * @return the loaded value, or null if the id was not found
+     * @throws CacheOperationInvoker.ThrowableWrapper if the collection method threw an exception
+     */
+    @Nullable
+    Object load(Object target, @Nullable Object proxy, Object id) {
+        MicroBatcher batcher = batchersByTarget.computeIfAbsent(target,
+                t -> new MicroBatcher(batched.maxBatchSize(), batched.maxDelayMillis()));
+        return batcher.load(id, ids -> invokeCollectionMethod(target, proxy, ids));
+    }
+
+    private Map<Object, Object> invokeCollectionMethod(Object target, @Nullable Object proxy, Collection<Object> ids) {
+        CollectionCreator collectionCreator = Objects.requireNonNull(collectionOperation.getCollectionCreator());
+        Object argument = collectionCreator.toArgument(collectionCreator.create(ids));
+        Optional<Method> proxyMethod = proxy != null ?
+                proxyMethods.computeIfAbsent(proxy.getClass(), this::findProxyMethod) : Optional.empty();
+        Object invocationResult;
+        try {
+            invocationResult = proxyMethod.isPresent() ?
+                    proxyMethod.get().invoke(proxy, argument) : collectionMethod.invoke(target, argument);
+        } catch (InvocationTargetException ex) {
+            throw new CacheOperationInvoker.ThrowableWrapper(ex.getTargetException());
+        } catch (IllegalAccessException ex) {
+            throw new IllegalStateException("Cannot invoke " + collectionMethod, ex);
+        }
+        Map<Object, Object> values = new HashMap<>();
+        if (invocationResult != null) {
+            collectionOperation.getReturnValueConverter().convert(invocationResult).forEach(values::put);
+        }
+        return values;
+    }
+
+    private Optional<Method> findProxyMethod(Class<?> proxyClass) {
+        if (collectionMethod.getDeclaringClass().isAssignableFrom(proxyClass)) {
+            // class-based proxies only intercept methods they can override
+            int modifiers = collectionMethod.getModifiers();
+            return Modifier.isPublic(modifiers) && !Modifier.isFinal(modifiers) ? Optional.of(collectionMethod) : Optional.empty();
+        }
+        return Optional.ofNullable(ClassUtils.getMethodIfAvailable(proxyClass, collectionMethod.getName(), collectionMethod.getParameterTypes()));
+    }
+}
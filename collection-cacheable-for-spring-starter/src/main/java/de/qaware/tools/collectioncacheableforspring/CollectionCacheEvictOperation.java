@@ -0,0 +1,59 @@
+/*-
+ * #%L
+ * Collection Cacheable for Spring :: Starter
+ * %%
+ * Copyright (C) 2020 QAware GmbH
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+package de.qaware.tools.collectioncacheableforspring;
+
+import de.qaware.tools.collectioncacheableforspring.creator.CollectionCreator;
+import org.springframework.cache.interceptor.CacheEvictOperation;
+
+public class CollectionCacheEvictOperation extends CacheEvictOperation {
+
+    private final CollectionCreator collectionCreator;
+
+    public CollectionCacheEvictOperation(Builder b) {
+        super(b);
+        this.collectionCreator = b.collectionCreator;
+    }
+
+    public CollectionCreator getCollectionCreator() {
+        return collectionCreator;
+    }
+
+    public static class Builder extends CacheEvictOperation.Builder {
+
+        private CollectionCreator collectionCreator;
+
+        public void setCollectionCreator(CollectionCreator collectionCreator) {
+            this.collectionCreator = collectionCreator;
+        }
+
+        @Override
+        protected StringBuilder getOperationDescription() {
+            return super.getOperationDescription()
+                    .append(" | collectionCreator=")
+                    .append(this.collectionCreator.getClass().getSimpleName());
+        }
+
+        @Override
+        public CollectionCacheEvictOperation build() {
+            return new CollectionCacheEvictOperation(this);
+        }
+    }
+}
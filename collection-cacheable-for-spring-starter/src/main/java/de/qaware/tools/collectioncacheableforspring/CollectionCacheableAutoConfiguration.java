@@ -20,9 +20,14 @@
 
 package de.qaware.tools.collectioncacheableforspring;
 
+import de.qaware.tools.collectioncacheableforspring.cache.BulkCacheAdapter;
 import de.qaware.tools.collectioncacheableforspring.creator.CollectionCreator;
 import de.qaware.tools.collectioncacheableforspring.creator.DefaultCollectionCreator;
+import de.qaware.tools.collectioncacheableforspring.creator.IntArrayCollectionCreator;
+import de.qaware.tools.collectioncacheableforspring.creator.ListCollectionCreator;
+import de.qaware.tools.collectioncacheableforspring.creator.LongArrayCollectionCreator;
 import de.qaware.tools.collectioncacheableforspring.creator.SetCollectionCreator;
+import de.qaware.tools.collectioncacheableforspring.metrics.CollectionCacheableMetrics;
 import de.qaware.tools.collectioncacheableforspring.returnvalue.DefaultReturnValueConverter;
 import de.qaware.tools.collectioncacheableforspring.returnvalue.ListReturnValueConverter;
 import de.qaware.tools.collectioncacheableforspring.returnvalue.ReturnValueConverter;
@@ -66,7 +71,7 @@ public class CollectionCacheableAutoConfiguration {
     }
 
     private static CacheInterceptor collectionCacheInterceptor(ConfigurableListableBeanFactory beanFactory, CacheOperationSource cacheOperationSource) {
-        CacheInterceptor interceptor = new CollectionCacheableCacheInterceptor();
+        CollectionCacheableCacheInterceptor interceptor = new CollectionCacheableCacheInterceptor();
         interceptor.setBeanFactory(beanFactory);
         interceptor.configure(
                 () -> beanFactory.getBeanProvider(CacheErrorHandler.class).getIfAvailable(),
@@ -75,6 +80,8 @@ public class CollectionCacheableAutoConfiguration {
                 () -> beanFactory.getBeanProvider(CacheManager.class).getIfAvailable()
         );
         interceptor.setCacheOperationSource(cacheOperationSource);
+        interceptor.setBulkCacheAdapters(beanFactory.getBeansOfType(BulkCacheAdapter.class).values());
+        interceptor.setMetrics(() -> beanFactory.getBeanProvider(CollectionCacheableMetrics.class).getIfAvailable());
         return interceptor;
     }
 
@@ -94,12 +101,30 @@ public class CollectionCacheableAutoConfiguration {
         return new DefaultCollectionCreator();
     }
 
+    @Bean
+    @ConditionalOnMissingBean
+    public ListCollectionCreator collectionCacheableListCollectionCreator() {
+        return new ListCollectionCreator();
+    }
+
     @Bean
     @ConditionalOnMissingBean
     public SetCollectionCreator collectionCacheableSetCollectionCreator() {
         return new SetCollectionCreator();
     }
 
+    @Bean
+    @ConditionalOnMissingBean
+    public LongArrayCollectionCreator collectionCacheableLongArrayCollectionCreator() {
+        return new LongArrayCollectionCreator();
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    public IntArrayCollectionCreator collectionCacheableIntArrayCollectionCreator() {
+        return new IntArrayCollectionCreator();
+    }
+
     @Bean
     @ConditionalOnMissingBean
     public DefaultReturnValueConverter collectionCacheableDefaultReturnValueConverter() {
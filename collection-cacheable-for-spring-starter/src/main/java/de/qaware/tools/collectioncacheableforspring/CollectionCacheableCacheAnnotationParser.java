@@ -25,7 +25,9 @@ import de.qaware.tools.collectioncacheableforspring.returnvalue.ReturnValueConve
 import org.springframework.cache.annotation.CacheAnnotationParser;
 import org.springframework.cache.annotation.CacheConfig;
 import org.springframework.cache.interceptor.CacheOperation;
+import org.springframework.core.ResolvableType;
 import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.core.annotation.AnnotationAwareOrderComparator;
 import org.springframework.lang.Nullable;
 import org.springframework.util.StringUtils;
 
@@ -33,14 +35,17 @@ import java.lang.reflect.AnnotatedElement;
 import java.lang.reflect.Method;
 import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
 
 /**
  * Strategy implementation for parsing Spring's
- * {@link CollectionCacheable}. Inspired by {@link
+ * {@link CollectionCacheable} and {@link CollectionCacheEvict}. Inspired by {@link
  * org.springframework.cache.annotation.SpringCacheAnnotationParser
  * Spring's internal implementation}.
  */
@@ -49,20 +54,31 @@ public class CollectionCacheableCacheAnnotationParser implements CacheAnnotation
     private static final String MESSAGE_INVALID_COLLECTION_CACHEABLE_ANNOTATION_CONFIGURATION =
             "Invalid CollectionCacheable annotation configuration on '%s'.";
 
+    private static final String MESSAGE_INVALID_COLLECTION_CACHE_EVICT_ANNOTATION_CONFIGURATION =
+            "Invalid CollectionCacheEvict annotation configuration on '%s'.";
+
     private static final String MESSAGE_INVALID_CACHE_ANNOTATION_CONFIGURATION =
             "Invalid cache annotation configuration on '%s'.";
 
+    private static final String MONO_CLASS_NAME = "reactor.core.publisher.Mono";
+
+    private static final String FLUX_CLASS_NAME = "reactor.core.publisher.Flux";
+
     private final Collection<CollectionCreator> collectionCreators;
     private final Collection<ReturnValueConverter> returnValueConverters;
 
     public CollectionCacheableCacheAnnotationParser(Collection<CollectionCreator> collectionCreators, Collection<ReturnValueConverter> returnValueConverters) {
-        this.collectionCreators = collectionCreators;
-        this.returnValueConverters = returnValueConverters;
+        List<CollectionCreator> sortedCollectionCreators = new ArrayList<>(collectionCreators);
+        AnnotationAwareOrderComparator.sort(sortedCollectionCreators);
+        this.collectionCreators = sortedCollectionCreators;
+        List<ReturnValueConverter> sortedReturnValueConverters = new ArrayList<>(returnValueConverters);
+        AnnotationAwareOrderComparator.sort(sortedReturnValueConverters);
+        this.returnValueConverters = sortedReturnValueConverters;
     }
 
     @Override
     public Collection<CacheOperation> parseCacheAnnotations(Class<?> type) {
-        // @CollectionCacheable only makes sense on methods
+        // @CollectionCacheable and @CollectionCacheEvict only make sense on methods
         return Collections.emptyList();
     }
 
@@ -89,20 +105,32 @@ public class CollectionCacheableCacheAnnotationParser implements CacheAnnotation
         Collection<CollectionCacheable> annotations = (localOnly ?
                 AnnotatedElementUtils.getAllMergedAnnotations(method, CollectionCacheable.class) :
                 AnnotatedElementUtils.findAllMergedAnnotations(method, CollectionCacheable.class));
-        if (annotations.isEmpty()) {
+        Collection<CollectionCacheEvict> evictAnnotations = (localOnly ?
+                AnnotatedElementUtils.getAllMergedAnnotations(method, CollectionCacheEvict.class) :
+                AnnotatedElementUtils.findAllMergedAnnotations(method, CollectionCacheEvict.class));
+        if (annotations.isEmpty() && evictAnnotations.isEmpty()) {
             return null;
         }
-        return annotations.stream()
-                .map(annotation -> parseCollectionCacheableAnnotation(method, cachingConfig, annotation))
-                .collect(Collectors.toList());
+        if (!annotations.isEmpty() && !evictAnnotations.isEmpty()) {
+            throw new IllegalStateException(String.format(
+                    MESSAGE_INVALID_CACHE_ANNOTATION_CONFIGURATION +
+                            " CollectionCacheable and CollectionCacheEvict cannot be combined.",
+                    method));
+        }
+        List<CacheOperation> ops = new ArrayList<>(annotations.size() + evictAnnotations.size());
+        annotations.forEach(annotation -> ops.add(parseCollectionCacheableAnnotation(method, cachingConfig, annotation)));
+        evictAnnotations.forEach(annotation -> ops.add(parseCollectionCacheEvictAnnotation(method, cachingConfig, annotation)));
+        return ops;
     }
 
     private CollectionCacheableOperation parseCollectionCacheableAnnotation(
             Method method, DefaultCacheConfig defaultConfig, CollectionCacheable collectionCacheable) {
 
         boolean isFindAll = checkFindAll(method);
+        boolean isAsync = checkAsync(method);
+        boolean isReactive = checkReactive(method);
         if (!isFindAll) {
-            validateMethodArguments(method);
+            validateMethodArguments(method, MESSAGE_INVALID_COLLECTION_CACHEABLE_ANNOTATION_CONFIGURATION);
             validateGenericMethodSignature(method);
         }
 
@@ -118,10 +146,24 @@ public class CollectionCacheableCacheAnnotationParser implements CacheAnnotation
         builder.setUnless(collectionCacheable.unless());
         builder.setFindAll(isFindAll);
         builder.setPutNull(collectionCacheable.putNull());
+        builder.setSync(collectionCacheable.sync());
+        builder.setAsync(isAsync);
+        builder.setReactive(isReactive);
+        builder.setMaxBatchSize(collectionCacheable.maxBatchSize());
+        builder.setExecutor(collectionCacheable.executor());
+        builder.setParallelism(collectionCacheable.parallelism());
+        builder.setTiered(collectionCacheable.tiered());
+        builder.setRefreshAheadMillis(collectionCacheable.refreshAheadMillis());
+        builder.setStaleAfterMillis(collectionCacheable.staleAfterMillis());
+        builder.setFindAllFromCache(collectionCacheable.findAllFromCache());
+        builder.setNullTtlMillis(collectionCacheable.nullTtlMillis());
+        builder.setAbsentIdsFilterSize(collectionCacheable.absentIdsFilterSize());
+        builder.setAbsentIdsFalsePositiveRate(collectionCacheable.absentIdsFalsePositiveRate());
+        builder.setAbsentIdsRotationMillis(collectionCacheable.absentIdsRotationMillis());
         if (!isFindAll) {
             builder.setCollectionCreator(findCollectionCreator(method));
         }
-        builder.setReturnValueConverter(findReturnValueConverter(method));
+        builder.setReturnValueConverter(findReturnValueConverter(method, isAsync || isReactive));
 
         defaultConfig.applyDefault(builder);
         CollectionCacheableOperation op = builder.build();
@@ -130,8 +172,34 @@ public class CollectionCacheableCacheAnnotationParser implements CacheAnnotation
         return op;
     }
 
-    private ReturnValueConverter findReturnValueConverter(Method method) {
-        Class<?> returnType = method.getReturnType();
+    private CollectionCacheEvictOperation parseCollectionCacheEvictAnnotation(
+            Method method, DefaultCacheConfig defaultConfig, CollectionCacheEvict collectionCacheEvict) {
+
+        validateMethodArguments(method, MESSAGE_INVALID_COLLECTION_CACHE_EVICT_ANNOTATION_CONFIGURATION);
+
+        CollectionCacheEvictOperation.Builder builder = new CollectionCacheEvictOperation.Builder();
+
+        builder.setName(method.toString());
+        builder.setCacheNames(collectionCacheEvict.cacheNames());
+        builder.setCondition(collectionCacheEvict.condition());
+        builder.setKey(collectionCacheEvict.key());
+        builder.setKeyGenerator(collectionCacheEvict.keyGenerator());
+        builder.setCacheManager(collectionCacheEvict.cacheManager());
+        builder.setCacheResolver(collectionCacheEvict.cacheResolver());
+        builder.setBeforeInvocation(collectionCacheEvict.beforeInvocation());
+        builder.setCollectionCreator(findCollectionCreator(method));
+
+        defaultConfig.applyDefault(builder);
+        CollectionCacheEvictOperation op = builder.build();
+        validateCacheOperation(method, op);
+
+        return op;
+    }
+
+    private ReturnValueConverter findReturnValueConverter(Method method, boolean isAsyncOrReactive) {
+        // asynchronous methods are handled by the converter of the value the future or Mono completes with,
+        // the items emitted by a Flux are handled like a List of them
+        Class<?> returnType = isAsyncOrReactive ? getAsyncValueType(method) : method.getReturnType();
         return returnValueConverters.stream().filter(converter -> converter.canHandle(returnType))
                 .findFirst()
                 .orElseThrow(() -> new IllegalStateException("Cannot find appropriate return value converter for method " + method + ". Available are: " + returnValueConverters));
@@ -149,11 +217,34 @@ public class CollectionCacheableCacheAnnotationParser implements CacheAnnotation
         return method.getParameterTypes().length == 0;
     }
 
-    private static void validateMethodArguments(Method method) {
+    private static Class<?> getAsyncValueType(Method method) {
+        String returnTypeName = method.getReturnType().getName();
+        if (FLUX_CLASS_NAME.equals(returnTypeName)) {
+            return List.class;
+        }
+        ResolvableType returnType = ResolvableType.forMethodReturnType(method);
+        if (MONO_CLASS_NAME.equals(returnTypeName)) {
+            return returnType.getGeneric(0).toClass();
+        }
+        return returnType.as(CompletionStage.class).getGeneric(0).toClass();
+    }
+
+    private boolean checkReactive(Method method) {
+        // compare names only to not require Reactor on the classpath
+        String returnTypeName = method.getReturnType().getName();
+        return MONO_CLASS_NAME.equals(returnTypeName) || FLUX_CLASS_NAME.equals(returnTypeName);
+    }
+
+    private boolean checkAsync(Method method) {
+        Class<?> returnType = method.getReturnType();
+        return CompletionStage.class.isAssignableFrom(returnType) && returnType.isAssignableFrom(CompletableFuture.class);
+    }
+
+    private static void validateMethodArguments(Method method, String message) {
         Class<?>[] parameterTypes = method.getParameterTypes();
-        if (parameterTypes.length != 1 || !Collection.class.isAssignableFrom(parameterTypes[0])) {
+        if (parameterTypes.length != 1 || !(Collection.class.isAssignableFrom(parameterTypes[0]) || parameterTypes[0].isArray())) {
             throw new IllegalStateException(String.format(
-                    MESSAGE_INVALID_COLLECTION_CACHEABLE_ANNOTATION_CONFIGURATION +
+                    message +
                             " Did not find exactly one Collection-like argument",
                     method));
         }
@@ -195,7 +286,7 @@ public class CollectionCacheableCacheAnnotationParser implements CacheAnnotation
         }
     }
 
-    private void validateCollectionCacheableOperation(AnnotatedElement ae, CollectionCacheableOperation operation) {
+    private void validateCacheOperation(AnnotatedElement ae, CacheOperation operation) {
         if (StringUtils.hasText(operation.getCacheManager()) && StringUtils.hasText(operation.getCacheResolver())) {
             throw new IllegalStateException(String.format(
                     MESSAGE_INVALID_CACHE_ANNOTATION_CONFIGURATION +
@@ -204,6 +295,10 @@ public class CollectionCacheableCacheAnnotationParser implements CacheAnnotation
                             " If a cache resolver is set, the cache manager won't be used.",
                     ae.toString()));
         }
+    }
+
+    private void validateCollectionCacheableOperation(AnnotatedElement ae, CollectionCacheableOperation operation) {
+        validateCacheOperation(ae, operation);
         if (operation.isFindAll() && StringUtils.hasText(operation.getCondition())) {
             throw new IllegalStateException(String.format(
                     MESSAGE_INVALID_CACHE_ANNOTATION_CONFIGURATION +
@@ -216,6 +311,121 @@ public class CollectionCacheableCacheAnnotationParser implements CacheAnnotation
                             " 'putNull' has no effect on 'findAll'-like methods.",
                     ae.toString()));
         }
+        if (operation.isFindAll() && operation.isSync()) {
+            throw new IllegalStateException(String.format(
+                    MESSAGE_INVALID_CACHE_ANNOTATION_CONFIGURATION +
+                            " 'sync' has no effect on 'findAll'-like methods.",
+                    ae.toString()));
+        }
+        if (operation.getMaxBatchSize() < 0) {
+            throw new IllegalStateException(String.format(
+                    MESSAGE_INVALID_CACHE_ANNOTATION_CONFIGURATION +
+                            " 'maxBatchSize' must not be negative.",
+                    ae.toString()));
+        }
+        if (operation.isFindAll() && operation.getMaxBatchSize() > 0) {
+            throw new IllegalStateException(String.format(
+                    MESSAGE_INVALID_CACHE_ANNOTATION_CONFIGURATION +
+                            " 'maxBatchSize' has no effect on 'findAll'-like methods.",
+                    ae.toString()));
+        }
+        if ((operation.isAsync() || operation.isReactive()) && operation.isSync()) {
+            throw new IllegalStateException(String.format(
+                    MESSAGE_INVALID_CACHE_ANNOTATION_CONFIGURATION +
+                            " 'sync' is not supported on methods returning a CompletableFuture, Mono or Flux.",
+                    ae.toString()));
+        }
+        if ((operation.isAsync() || operation.isReactive()) && operation.getMaxBatchSize() > 0) {
+            throw new IllegalStateException(String.format(
+                    MESSAGE_INVALID_CACHE_ANNOTATION_CONFIGURATION +
+                            " 'maxBatchSize' is not supported on methods returning a CompletableFuture, Mono or Flux.",
+                    ae.toString()));
+        }
+        boolean refreshedInBackground = operation.getRefreshAheadMillis() > 0 || operation.getStaleAfterMillis() > 0;
+        if (StringUtils.hasText(operation.getExecutor()) && operation.getMaxBatchSize() <= 0 && !refreshedInBackground) {
+            throw new IllegalStateException(String.format(
+                    MESSAGE_INVALID_CACHE_ANNOTATION_CONFIGURATION +
+                            " 'executor' requires 'maxBatchSize', 'refreshAheadMillis' or 'staleAfterMillis' to be set.",
+                    ae.toString()));
+        }
+        if (refreshedInBackground && !StringUtils.hasText(operation.getExecutor())) {
+            throw new IllegalStateException(String.format(
+                    MESSAGE_INVALID_CACHE_ANNOTATION_CONFIGURATION +
+                            " 'refreshAheadMillis' and 'staleAfterMillis' require 'executor' to be set.",
+                    ae.toString()));
+        }
+        if (operation.getParallelism() < 0) {
+            throw new IllegalStateException(String.format(
+                    MESSAGE_INVALID_CACHE_ANNOTATION_CONFIGURATION +
+                            " 'parallelism' must not be negative.",
+                    ae.toString()));
+        }
+        if (!StringUtils.hasText(operation.getExecutor()) && operation.getParallelism() > 0) {
+            throw new IllegalStateException(String.format(
+                    MESSAGE_INVALID_CACHE_ANNOTATION_CONFIGURATION +
+                            " 'parallelism' has no effect without 'executor'.",
+                    ae.toString()));
+        }
+        if (operation.isTiered() && !StringUtils.hasText(operation.getCacheResolver()) && operation.getCacheNames().size() < 2) {
+            throw new IllegalStateException(String.format(
+                    MESSAGE_INVALID_CACHE_ANNOTATION_CONFIGURATION +
+                            " 'tiered' requires at least two 'cacheNames'.",
+                    ae.toString()));
+        }
+        if (operation.getRefreshAheadMillis() < 0 || operation.getStaleAfterMillis() < 0) {
+            throw new IllegalStateException(String.format(
+                    MESSAGE_INVALID_CACHE_ANNOTATION_CONFIGURATION +
+                            " 'refreshAheadMillis' and 'staleAfterMillis' must not be negative.",
+                    ae.toString()));
+        }
+        if (refreshedInBackground && (operation.isFindAll() || operation.isAsync() || operation.isReactive())) {
+            throw new IllegalStateException(String.format(
+                    MESSAGE_INVALID_CACHE_ANNOTATION_CONFIGURATION +
+                            " 'refreshAheadMillis' and 'staleAfterMillis' are only supported for synchronous methods with ids.",
+                    ae.toString()));
+        }
+        if (operation.isFindAllFromCache() && (!operation.isFindAll() || operation.isAsync() || operation.isReactive())) {
+            throw new IllegalStateException(String.format(
+                    MESSAGE_INVALID_CACHE_ANNOTATION_CONFIGURATION +
+                            " 'findAllFromCache' is only supported for synchronous 'findAll'-like methods.",
+                    ae.toString()));
+        }
+        if (operation.getNullTtlMillis() < 0) {
+            throw new IllegalStateException(String.format(
+                    MESSAGE_INVALID_CACHE_ANNOTATION_CONFIGURATION +
+                            " 'nullTtlMillis' must not be negative.",
+                    ae.toString()));
+        }
+        if (operation.getNullTtlMillis() > 0 && !operation.isPutNull()) {
+            throw new IllegalStateException(String.format(
+                    MESSAGE_INVALID_CACHE_ANNOTATION_CONFIGURATION +
+                            " 'nullTtlMillis' requires 'putNull' to be set.",
+                    ae.toString()));
+        }
+        if (operation.getAbsentIdsFilterSize() < 0) {
+            throw new IllegalStateException(String.format(
+                    MESSAGE_INVALID_CACHE_ANNOTATION_CONFIGURATION +
+                            " 'absentIdsFilterSize' must not be negative.",
+                    ae.toString()));
+        }
+        if (operation.getAbsentIdsFilterSize() > 0 && (operation.isFindAll() || operation.isReactive() || operation.isPutNull())) {
+            throw new IllegalStateException(String.format(
+                    MESSAGE_INVALID_CACHE_ANNOTATION_CONFIGURATION +
+                            " 'absentIdsFilterSize' is not supported for 'findAll'-like or reactive methods and cannot be combined with 'putNull'.",
+                    ae.toString()));
+        }
+        if (operation.getAbsentIdsFilterSize() > 0 && !(operation.getAbsentIdsFalsePositiveRate() > 0 && operation.getAbsentIdsFalsePositiveRate() < 1)) {
+            throw new IllegalStateException(String.format(
+                    MESSAGE_INVALID_CACHE_ANNOTATION_CONFIGURATION +
+                            " 'absentIdsFalsePositiveRate' must be greater than 0 and less than 1.",
+                    ae.toString()));
+        }
+        if (operation.getAbsentIdsFilterSize() > 0 && operation.getAbsentIdsRotationMillis() <= 0) {
+            throw new IllegalStateException(String.format(
+                    MESSAGE_INVALID_CACHE_ANNOTATION_CONFIGURATION +
+                            " 'absentIdsRotationMillis' must be positive.",
+                    ae.toString()));
+        }
     }
 
     /**
@@ -20,158 +20,1272 @@
 
 package de.qaware.tools.collectioncacheableforspring;
 
+import de.qaware.tools.collectioncacheableforspring.cache.BulkCache;
+import de.qaware.tools.collectioncacheableforspring.cache.BulkCacheAdapter;
+import de.qaware.tools.collectioncacheableforspring.cache.ExpiryAwareCache;
+import de.qaware.tools.collectioncacheableforspring.cache.TimeToLiveCache;
 import de.qaware.tools.collectioncacheableforspring.creator.CollectionCreator;
+import de.qaware.tools.collectioncacheableforspring.metrics.CollectionCacheableMetrics;
 import de.qaware.tools.collectioncacheableforspring.returnvalue.ReturnValueConverter;
+import org.aopalliance.intercept.MethodInvocation;
+import org.reactivestreams.Publisher;
 import org.springframework.aop.framework.AopProxyUtils;
+import org.springframework.aop.support.AopUtils;
 import org.springframework.cache.Cache;
 import org.springframework.cache.interceptor.CacheInterceptor;
 import org.springframework.cache.interceptor.CacheOperation;
+import org.springframework.cache.interceptor.CacheOperationInvocationContext;
 import org.springframework.cache.interceptor.CacheOperationInvoker;
 import org.springframework.cache.interceptor.CacheOperationSource;
+import org.springframework.cache.interceptor.CacheResolver;
+import org.springframework.cache.interceptor.KeyGenerator;
+import org.springframework.core.MethodClassKey;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.core.annotation.AnnotationAwareOrderComparator;
 import org.springframework.lang.Nullable;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.Assert;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.CollectionUtils;
+import org.springframework.util.ConcurrentReferenceHashMap;
+import org.springframework.util.ReflectionUtils;
+import org.springframework.util.StringUtils;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
 import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 public class CollectionCacheableCacheInterceptor extends CacheInterceptor {
 
     private static final Object NO_RESULT = new Object();
 
+    /**
+     * Marks methods which are neither {@link CollectionCacheable} nor {@link CollectionCacheableBatched}.
+     */
+    private static final Object NOT_COLLECTION_CACHEABLE = new Object();
+
+    private static final boolean TRANSACTIONS_PRESENT = ClassUtils.isPresent(
+            "org.springframework.transaction.support.TransactionSynchronizationManager",
+            CollectionCacheableCacheInterceptor.class.getClassLoader());
+
+    private static final String MESSAGE_INVALID_BATCHED_CONFIGURATION =
+            "Invalid CollectionCacheableBatched annotation configuration on '%s'.";
+
+    private final Map<Cache, Cache> adaptedCaches = new ConcurrentReferenceHashMap<>();
+
+    private final InFlightLoads inFlightLoads = new InFlightLoads();
+
+    private final Map<String, Executor> executors = new ConcurrentHashMap<>();
+
+    /**
+     * Holds the operations whose batches were invoked in the calling thread because of an
+     * active transaction, so that this is only logged once per operation.
+     */
+    private final Set<CollectionCacheableOperation> transactionalOperations = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Holds the keys currently refreshed in the background by the name of the first cache.
+     */
+    private final Map<String, Set<Object>> refreshingKeys = new ConcurrentHashMap<>();
+
+    /**
+     * Holds the filters of keys the methods did not return a value for by their operation,
+     * so that each filter is sized as configured by its method.
+     */
+    private final Map<CollectionCacheableOperation, AbsentKeysFilter> absentKeysFilters = new ConcurrentHashMap<>();
+
+    /**
+     * Holds an {@link OperationPlan}, an {@link EvictPlan}, a {@link BatchedLoad}
+     * or {@link #NOT_COLLECTION_CACHEABLE} for each method.
+     */
+    private final Map<MethodClassKey, Object> methodDispatch = new ConcurrentHashMap<>(256);
+
+    private List<BulkCacheAdapter> bulkCacheAdapters = Collections.emptyList();
+
+    private Supplier<CollectionCacheableMetrics> metricsSupplier = () -> CollectionCacheableMetrics.NOOP;
+
+    private volatile CollectionCacheableMetrics metrics = CollectionCacheableMetrics.NOOP;
+
+    /**
+     * Set the adapters used to turn caches resolved for
+     * {@link CollectionCacheable} operations into {@link BulkCache bulk caches}.
+     *
+     * @param bulkCacheAdapters bulk cache adapters
+     */
+    public void setBulkCacheAdapters(Collection<BulkCacheAdapter> bulkCacheAdapters) {
+        List<BulkCacheAdapter> sortedBulkCacheAdapters = new ArrayList<>(bulkCacheAdapters);
+        AnnotationAwareOrderComparator.sort(sortedBulkCacheAdapters);
+        this.bulkCacheAdapters = sortedBulkCacheAdapters;
+        this.adaptedCaches.clear();
+    }
+
+    /**
+     * Set the metrics recording {@link CollectionCacheable} operations.
+     *
+     * @param metrics supplier of the metrics, called once all singletons are instantiated.
+     *                The supplier may return {@code null} to disable metrics.
+     */
+    public void setMetrics(Supplier<CollectionCacheableMetrics> metrics) {
+        this.metricsSupplier = metrics;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        super.afterSingletonsInstantiated();
+        CollectionCacheableMetrics resolvedMetrics = metricsSupplier.get();
+        this.metrics = resolvedMetrics != null ? resolvedMetrics : CollectionCacheableMetrics.NOOP;
+        // plans created while starting up record to the metrics from now on
+        this.methodDispatch.clear();
+    }
+
+    @Override
+    @Nullable
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        Object target = invocation.getThis();
+        Assert.state(target != null, "Target must not be null");
+        try {
+            return execute(new MethodInvocationInvoker(invocation), target, invocation.getMethod(), invocation.getArguments());
+        } catch (CacheOperationInvoker.ThrowableWrapper th) {
+            throw th.getOriginal();
+        }
+    }
+
     @Override
     @Nullable
     protected Object execute(CacheOperationInvoker invoker, Object target, Method method, Object[] invocationArgs) {
         Class<?> targetClass = AopProxyUtils.ultimateTargetClass(target);
-        CacheOperationSource cacheOperationSource = getCacheOperationSource();
-        if (cacheOperationSource != null) {
-            Collection<CacheOperation> operations = cacheOperationSource.getCacheOperations(method, targetClass);
+        MethodClassKey dispatchKey = new MethodClassKey(method, targetClass);
+        Object dispatch = methodDispatch.get(dispatchKey);
+        if (dispatch == null) {
+            CacheOperationSource cacheOperationSource = getCacheOperationSource();
+            if (cacheOperationSource == null) {
+                return super.execute(invoker, target, method, invocationArgs);
+            }
+            dispatch = methodDispatch.computeIfAbsent(dispatchKey, key -> createDispatch(cacheOperationSource, method, targetClass));
+        }
+        if (dispatch == NOT_COLLECTION_CACHEABLE) {
+            // plain Spring cache operations
+            return super.execute(invoker, target, method, invocationArgs);
+        }
+        if (dispatch instanceof OperationPlan) {
+            return handleCollectionCacheable((OperationPlan) dispatch, invoker, target, invocationArgs);
+        }
+        if (dispatch instanceof EvictPlan) {
+            return handleCollectionCacheEvict((EvictPlan) dispatch, invoker, target, method, invocationArgs);
+        }
+        BatchedLoad batchedLoad = (BatchedLoad) dispatch;
+        Object id = invocationArgs[0];
+        Object proxy = invoker instanceof MethodInvocationInvoker ? ((MethodInvocationInvoker) invoker).getProxy() : null;
+        return super.execute(() -> batchedLoad.load(target, proxy, id), target, method, invocationArgs);
+    }
+
+    private Object createDispatch(CacheOperationSource cacheOperationSource, Method method, Class<?> targetClass) {
+        Collection<CacheOperation> operations = cacheOperationSource.getCacheOperations(method, targetClass);
+        CollectionCacheableOperation collectionCacheableOperation = findCollectionCacheableOperation(operations);
+        if (collectionCacheableOperation != null) {
+            return createOperationPlan(collectionCacheableOperation, method, targetClass);
+        }
+        EvictPlan evictPlan = createEvictPlan(operations, method, targetClass);
+        if (evictPlan != null) {
+            return evictPlan;
+        }
+        BatchedLoad batchedLoad = createBatchedLoad(method, targetClass);
+        return batchedLoad != null ? batchedLoad : NOT_COLLECTION_CACHEABLE;
+    }
+
+    @Nullable
+    private BatchedLoad createBatchedLoad(Method method, Class<?> targetClass) {
+        Method specificMethod = AopUtils.getMostSpecificMethod(method, targetClass);
+        CollectionCacheableBatched batched = AnnotatedElementUtils.findMergedAnnotation(specificMethod, CollectionCacheableBatched.class);
+        if (batched == null) {
+            return null;
+        }
+        if (specificMethod.getParameterCount() != 1) {
+            throw new IllegalStateException(String.format(MESSAGE_INVALID_BATCHED_CONFIGURATION +
+                    " Did not find exactly one argument.", specificMethod));
+        }
+        if (batched.maxBatchSize() <= 0 || batched.maxDelayMillis() < 0) {
+            throw new IllegalStateException(String.format(MESSAGE_INVALID_BATCHED_CONFIGURATION +
+                    " 'maxBatchSize' must be positive and 'maxDelayMillis' must not be negative.", specificMethod));
+        }
+        List<Method> collectionMethods = Arrays.stream(ReflectionUtils.getUniqueDeclaredMethods(targetClass))
+                .filter(candidate -> candidate.getName().equals(batched.method()))
+                .filter(candidate -> candidate.getParameterCount() == 1 && isCollectionLike(candidate.getParameterTypes()[0]))
+                .collect(Collectors.toList());
+        if (collectionMethods.size() != 1) {
+            throw new IllegalStateException(String.format(MESSAGE_INVALID_BATCHED_CONFIGURATION +
+                    " Did not find exactly one method '%s' with one Collection-like argument.", specificMethod, batched.method()));
+        }
+        Method collectionMethod = collectionMethods.get(0);
+        CacheOperationSource cacheOperationSource = Objects.requireNonNull(getCacheOperationSource());
+        CollectionCacheableOperation collectionOperation = findCollectionCacheableOperation(
+                cacheOperationSource.getCacheOperations(collectionMethod, targetClass));
+        if (collectionOperation == null || collectionOperation.isAsync() || collectionOperation.isReactive()) {
+            throw new IllegalStateException(String.format(MESSAGE_INVALID_BATCHED_CONFIGURATION +
+                    " Method '%s' must be a synchronous @CollectionCacheable method.", specificMethod, collectionMethod));
+        }
+        return new BatchedLoad(collectionMethod, collectionOperation, batched);
+    }
+
+    private static boolean isCollectionLike(Class<?> parameterType) {
+        return Collection.class.isAssignableFrom(parameterType) || parameterType.isArray();
+    }
 
-            CollectionCacheableOperation collectionCacheableOperation = findCollectionCacheableOperation(operations);
-            if (collectionCacheableOperation != null) {
-                return handleCollectionCacheable(collectionCacheableOperation, targetClass, invoker, target, method, invocationArgs);
+    private OperationPlan createOperationPlan(CollectionCacheableOperation operation, Method method, Class<?> targetClass) {
+        CacheOperationMetadata metadata = getCacheOperationMetadata(operation, method, targetClass);
+        Method targetMethod = !Proxy.isProxyClass(targetClass) ? AopUtils.getMostSpecificMethod(method, targetClass) : method;
+        SingleArgumentKeyGenerator keyGenerator = SingleArgumentKeyGenerator.create(operation, targetMethod,
+                () -> StringUtils.hasText(operation.getKeyGenerator()) ?
+                        getBean(operation.getKeyGenerator(), KeyGenerator.class) : getKeyGenerator());
+        return new OperationPlan(operation, metadata, metrics.getOperationMetrics(method, operation), keyGenerator);
+    }
+
+    @Nullable
+    private EvictPlan createEvictPlan(@Nullable Collection<CacheOperation> operations, Method method, Class<?> targetClass) {
+        if (operations == null) {
+            return null;
+        }
+        List<EvictOperationPlan> beforeInvocationPlans = new ArrayList<>();
+        List<EvictOperationPlan> afterInvocationPlans = new ArrayList<>();
+        for (CacheOperation operation : operations) {
+            if (operation instanceof CollectionCacheEvictOperation) {
+                CacheOperationMetadata metadata = getCacheOperationMetadata(operation, method, targetClass);
+                Method targetMethod = !Proxy.isProxyClass(targetClass) ? AopUtils.getMostSpecificMethod(method, targetClass) : method;
+                SingleArgumentKeyGenerator keyGenerator = SingleArgumentKeyGenerator.create(operation, targetMethod,
+                        () -> StringUtils.hasText(operation.getKeyGenerator()) ?
+                                getBean(operation.getKeyGenerator(), KeyGenerator.class) : getKeyGenerator());
+                CollectionCacheEvictOperation evictOperation = (CollectionCacheEvictOperation) operation;
+                EvictOperationPlan operationPlan = new EvictOperationPlan(evictOperation, metadata, keyGenerator);
+                if (evictOperation.isBeforeInvocation()) {
+                    beforeInvocationPlans.add(operationPlan);
+                } else {
+                    afterInvocationPlans.add(operationPlan);
+                }
             }
         }
-        return super.execute(invoker, target, method, invocationArgs);
+        if (beforeInvocationPlans.isEmpty() && afterInvocationPlans.isEmpty()) {
+            return null;
+        }
+        return new EvictPlan(beforeInvocationPlans, afterInvocationPlans);
     }
 
-    private Object handleCollectionCacheable(CollectionCacheableOperation operation, Class<?> targetClass, CacheOperationInvoker invoker, Object target, Method method, Object[] invocationArgs) {
-        CollectionCacheableOperationContext context = getCollectionCacheableOperationContext(operation, method, target, targetClass);
+    private Object handleCollectionCacheEvict(EvictPlan plan, CacheOperationInvoker invoker, Object target, Method method, Object[] invocationArgs) {
+        // other cache operations of the method are handled by Spring, which ignores the collection evict operations
+        Object idsArgument = invocationArgs[0];
+        for (EvictOperationPlan operationPlan : plan.beforeInvocationPlans) {
+            evictCollection(operationPlan, target, idsArgument);
+        }
+        Object result = super.execute(invoker, target, method, invocationArgs);
+        for (EvictOperationPlan operationPlan : plan.afterInvocationPlans) {
+            evictCollection(operationPlan, target, idsArgument);
+        }
+        return result;
+    }
+
+    private void evictCollection(EvictOperationPlan operationPlan, Object target, Object idsArgument) {
+        CollectionCacheableOperationContext context = operationPlan.createContext(target);
+        if (!context.isConditionPassingWithArgument(idsArgument)) {
+            if (logger.isTraceEnabled()) {
+                logger.trace("Not evicting as condition is not passing with argument " + idsArgument);
+            }
+            return;
+        }
+        Collection<?> ids = getCollectionArgument(operationPlan.operation.getCollectionCreator(), new Object[]{idsArgument});
+        List<Object> keys = new ArrayList<>(ids.size());
+        for (Object id : ids) {
+            keys.add(context.generateKeyFromSingleArgument(id));
+        }
+        if (keys.isEmpty()) {
+            return;
+        }
+        for (Cache cache : context.getCaches()) {
+            if (logger.isTraceEnabled()) {
+                logger.trace("Evicting keys " + keys + " from cache '" + cache.getName() + "'");
+            }
+            if (cache instanceof BulkCache) {
+                doEvictAll((BulkCache) cache, keys);
+            } else {
+                keys.forEach(key -> doEvict(cache, key, false));
+            }
+        }
+    }
+
+    private Object handleCollectionCacheable(OperationPlan plan, CacheOperationInvoker invoker, Object target, Object[] invocationArgs) {
+        CollectionCacheableOperation operation = plan.operation;
+        CollectionCacheableOperationContext context = plan.createContext(target);
 
         if (operation.isFindAll()) {
-            return handleIsFindAll(invoker, operation.getReturnValueConverter(), context);
+            return handleIsFindAll(operation, invoker, context);
         }
         CollectionCreator collectionCreator = Objects.requireNonNull(operation.getCollectionCreator(), "collectionCreator must be set for non-isFindAll operations");
 
-        Collection<?> idsArgument = injectCollectionArgument(collectionCreator, invocationArgs);
-        if (!context.isConditionPassingWithArgument(idsArgument)) {
-            if (logger.isTraceEnabled()) {
-                logger.trace("Invoking method as condition is not passing with argument " + idsArgument);
+        Collection<?> idsArgument = getCollectionArgument(collectionCreator, invocationArgs);
+        if (StringUtils.hasText(operation.getCondition())) {
+            // the condition and the method see the ids as created by the collection creator,
+            // which is done by the cache lookup otherwise
+            idsArgument = collectionCreator.create(idsArgument);
+            invocationArgs[0] = collectionCreator.toArgument(idsArgument);
+            if (!context.isConditionPassingWithArgument(invocationArgs[0])) {
+                if (logger.isTraceEnabled()) {
+                    logger.trace("Invoking method as condition is not passing with argument " + idsArgument);
+                }
+                return invoker.invoke();
             }
-            return invoker.invoke();
         }
 
-        Map<Object, Object> cacheResult = findIdsInCache(idsArgument, context);
+        if (operation.isReactive()) {
+            return new ReactiveSupport().handle(operation, invoker, invocationArgs, idsArgument, context);
+        }
+
+        Map<Object, Object> cacheResult = CollectionUtils.newHashMap(idsArgument.size());
+        Map<Object, Object> hitIdsByKey = isRefreshedInBackground(operation) ? new HashMap<>() : null;
+        idsArgument = findIdsInCache(idsArgument, collectionCreator, cacheResult, context, hitIdsByKey);
+        if (hitIdsByKey != null && !hitIdsByKey.isEmpty()) {
+            refreshInBackground(operation, invoker, hitIdsByKey, context);
+        }
+        invocationArgs[0] = collectionCreator.toArgument(idsArgument);
 
+        if (operation.isAsync()) {
+            return handleAsyncLoad(operation, invoker, idsArgument, cacheResult, context);
+        }
         if (idsArgument.isEmpty()) {
             return operation.getReturnValueConverter().convert(null, cacheResult);
         }
+        if (operation.isSync()) {
+            return handleSynchronizedLoad(operation, invoker, invocationArgs, idsArgument, cacheResult, context);
+        }
+        Object uncachedResult = loadUncached(operation, invoker, invocationArgs, idsArgument, cacheResult, context, null);
+        return operation.getReturnValueConverter().convert(uncachedResult, cacheResult);
+    }
+
+    private Object handleSynchronizedLoad(CollectionCacheableOperation operation, CacheOperationInvoker invoker, Object[] invocationArgs,
+                                          Collection<?> idsArgument, Map<Object, Object> cacheResult, CollectionCacheableOperationContext context) {
+        Map<Object, InFlightLoads.Load> loads = inFlightLoads.forCache(context.getCaches().iterator().next().getName());
+        InFlightLoads.Load ownLoad = new InFlightLoads.Load();
+        List<Object> ownKeys = new ArrayList<>(idsArgument.size());
+        List<Object> ownIds = new ArrayList<>(idsArgument.size());
+        Map<Object, Object> awaitedIds = new HashMap<>();
+        Map<Object, InFlightLoads.Load> awaitedLoads = new HashMap<>();
+        for (Object id : idsArgument) {
+            Object key = context.generateKeyFromSingleArgument(id);
+            InFlightLoads.Load load = loads.putIfAbsent(key, ownLoad);
+            if (load == null) {
+                ownKeys.add(key);
+                ownIds.add(id);
+            } else if (!load.isOwnedByCurrentThread()) {
+                awaitedIds.put(key, id);
+                awaitedLoads.put(key, load);
+            } else {
+                // re-entrant load of an id this thread is already loading is simply passed to the method again
+                ownIds.add(id);
+            }
+        }
+        if (!awaitedLoads.isEmpty()) {
+            if (logger.isTraceEnabled()) {
+                logger.trace("Awaiting concurrent loads of keys " + awaitedIds.keySet());
+            }
+            CollectionCreator collectionCreator = Objects.requireNonNull(operation.getCollectionCreator());
+            idsArgument = collectionCreator.create(ownIds);
+            invocationArgs[0] = collectionCreator.toArgument(idsArgument);
+        }
+
+        Object uncachedResult = null;
+        try {
+            if (!idsArgument.isEmpty()) {
+                Map<Object, Object> loadedEntries = new HashMap<>();
+                uncachedResult = loadUncached(operation, invoker, invocationArgs, idsArgument, cacheResult, context, loadedEntries);
+                ownLoad.complete(loadedEntries);
+            }
+        } catch (RuntimeException | Error ex) {
+            ownLoad.completeExceptionally(ex);
+            throw ex;
+        } finally {
+            for (Object key : ownKeys) {
+                loads.remove(key, ownLoad);
+            }
+        }
+
+        awaitedLoads.forEach((key, load) -> {
+            Object value = join(load).get(key);
+            if (value != null) {
+                cacheResult.put(awaitedIds.get(key), value);
+            }
+        });
+        return operation.getReturnValueConverter().convert(uncachedResult, cacheResult);
+    }
+
+    private Object handleAsyncLoad(CollectionCacheableOperation operation, CacheOperationInvoker invoker, Collection<?> idsArgument,
+                                   Map<Object, Object> cacheResult, CollectionCacheableOperationContext context) {
+        ReturnValueConverter returnValueConverter = operation.getReturnValueConverter();
+        if (idsArgument.isEmpty()) {
+            return CompletableFuture.completedFuture(returnValueConverter.convert(null, cacheResult));
+        }
         if (logger.isTraceEnabled()) {
-            logger.trace("Invoking method with remaining ids " + idsArgument);
+            logger.trace("Invoking asynchronous method with remaining ids " + idsArgument);
         }
-        Object uncachedResult = invoker.invoke();
-        ReturnValueConverter.MapLikeReturnValue returnValue = operation.getReturnValueConverter().convert(uncachedResult, cacheResult);
-        if (context.canPutToCache(uncachedResult)) {
-            putUncachedResultToCache(returnValue, context);
-            if (operation.isPutNull()) {
-                putNullToCache(returnValue, idsArgument, context);
+        long start = System.nanoTime();
+        CompletionStage<?> uncachedFuture = (CompletionStage<?>) invoker.invoke();
+        if (uncachedFuture == null) {
+            return null;
+        }
+        // the calling thread does not use the context anymore, so it is safe to use it on completion
+        return uncachedFuture.thenApply(uncachedResult -> {
+            context.getMetrics().recordInvocation(idsArgument.size(), System.nanoTime() - start);
+            putUncachedResultToCache(operation, uncachedResult, idsArgument, context, null);
+            return returnValueConverter.convert(uncachedResult, cacheResult);
+        }).toCompletableFuture();
+    }
+
+    /**
+     * Invoke the method with the given ids and put the result into the caches.
+     * If the ids are split into several batches, the results are merged into
+     * the given cache result and {@code null} is returned.
+     *
+     * @return the uncached result to be merged with the cache result by the caller
+     */
+    @Nullable
+    private Object loadUncached(CollectionCacheableOperation operation, CacheOperationInvoker invoker, Object[] invocationArgs,
+                                Collection<?> idsArgument, Map<Object, Object> cacheResult, CollectionCacheableOperationContext context,
+                                @Nullable Map<Object, Object> loadedEntries) {
+        int maxBatchSize = operation.getMaxBatchSize();
+        if (maxBatchSize <= 0 || idsArgument.size() <= maxBatchSize) {
+            if (logger.isTraceEnabled()) {
+                logger.trace("Invoking method with remaining ids " + idsArgument);
+            }
+            long start = System.nanoTime();
+            Object uncachedResult = invoker.invoke();
+            context.getMetrics().recordInvocation(idsArgument.size(), System.nanoTime() - start);
+            putUncachedResultToCache(operation, uncachedResult, idsArgument, context, loadedEntries);
+            return uncachedResult;
+        }
+        CollectionCreator collectionCreator = Objects.requireNonNull(operation.getCollectionCreator());
+        List<Collection<?>> batches = splitIntoBatches(idsArgument, maxBatchSize, collectionCreator);
+        if (StringUtils.hasText(operation.getExecutor()) && invoker instanceof MethodInvocationInvoker
+                && ((MethodInvocationInvoker) invoker).canInvokeConcurrently() && !isTransactionActive(operation)) {
+            loadBatchesInParallel(operation, (MethodInvocationInvoker) invoker, batches, cacheResult, context, loadedEntries);
+            return null;
+        }
+        for (Collection<?> batch : batches) {
+            if (logger.isTraceEnabled()) {
+                logger.trace("Invoking method with batch of remaining ids " + batch);
+            }
+            long start = System.nanoTime();
+            Object batchResult = invokeWithIds(invoker, invocationArgs, collectionCreator.toArgument(batch));
+            context.getMetrics().recordInvocation(batch.size(), System.nanoTime() - start);
+            putUncachedResultToCache(operation, batchResult, batch, context, loadedEntries).forEach(cacheResult::put);
+        }
+        return null;
+    }
+
+    private void loadBatchesInParallel(CollectionCacheableOperation operation, MethodInvocationInvoker invoker, List<Collection<?>> batches,
+                                       Map<Object, Object> cacheResult, CollectionCacheableOperationContext context,
+                                       @Nullable Map<Object, Object> loadedEntries) {
+        Executor executor = getExecutor(operation.getExecutor());
+        int lanes = operation.getParallelism() > 0 ? Math.min(operation.getParallelism(), batches.size()) : batches.size();
+        Queue<Collection<?>> pendingBatches = new ConcurrentLinkedQueue<>(batches);
+        AtomicBoolean failed = new AtomicBoolean();
+        List<CompletableFuture<Void>> laneFutures = new ArrayList<>(lanes);
+        List<Map<Object, Object>> laneResults = new ArrayList<>(lanes);
+        List<Map<Object, Object>> laneLoadedEntries = new ArrayList<>(lanes);
+        for (int i = 0; i < lanes; i++) {
+            // the context evaluates keys on shared state, so each lane gets its own
+            CollectionCacheableOperationContext laneContext = context.copy();
+            Map<Object, Object> laneResult = new HashMap<>();
+            Map<Object, Object> laneLoaded = loadedEntries == null ? null : new HashMap<>();
+            Runnable lane = () -> loadBatches(operation, invoker, pendingBatches, failed, laneResult, laneContext, laneLoaded);
+            laneFutures.add(runAsync(lane, executor));
+            laneResults.add(laneResult);
+            laneLoadedEntries.add(laneLoaded);
+        }
+
+        RuntimeException failure = null;
+        for (int i = 0; i < lanes; i++) {
+            try {
+                join(laneFutures.get(i));
+            } catch (RuntimeException ex) {
+                if (failure == null) {
+                    failure = ex;
+                }
+                continue;
+            }
+            cacheResult.putAll(laneResults.get(i));
+            if (loadedEntries != null) {
+                loadedEntries.putAll(laneLoadedEntries.get(i));
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    private void loadBatches(CollectionCacheableOperation operation, MethodInvocationInvoker invoker, Queue<Collection<?>> pendingBatches,
+                             AtomicBoolean failed, Map<Object, Object> laneResult, CollectionCacheableOperationContext laneContext,
+                             @Nullable Map<Object, Object> laneLoadedEntries) {
+        CollectionCreator collectionCreator = Objects.requireNonNull(operation.getCollectionCreator());
+        Collection<?> batch;
+        while (!failed.get() && (batch = pendingBatches.poll()) != null) {
+            if (logger.isTraceEnabled()) {
+                logger.trace("Invoking method with batch of remaining ids " + batch);
+            }
+            try {
+                long start = System.nanoTime();
+                Object batchResult = invoker.invokeWith(new Object[]{collectionCreator.toArgument(batch)});
+                laneContext.getMetrics().recordInvocation(batch.size(), System.nanoTime() - start);
+                putUncachedResultToCache(operation, batchResult, batch, laneContext, laneLoadedEntries).forEach(laneResult::put);
+            } catch (RuntimeException | Error ex) {
+                failed.set(true);
+                throw ex;
+            }
+        }
+    }
+
+    /**
+     * Batches invoked on the executor would run outside of the transaction of the calling
+     * thread, so they are invoked in the calling thread while a transaction is active.
+     */
+    private boolean isTransactionActive(CollectionCacheableOperation operation) {
+        if (!TRANSACTIONS_PRESENT || !TransactionSynchronizationManager.isActualTransactionActive()) {
+            return false;
+        }
+        if (transactionalOperations.add(operation)) {
+            logger.warn("Invoking batches of " + operation + " in the calling thread, as a transaction is active");
+        }
+        return true;
+    }
+
+    private CompletableFuture<Void> runAsync(Runnable lane, Executor executor) {
+        try {
+            return CompletableFuture.runAsync(lane, executor);
+        } catch (RejectedExecutionException ex) {
+            logger.debug("Executor rejected batch invocation, invoking batches in calling thread", ex);
+            CompletableFuture<Void> future = new CompletableFuture<>();
+            try {
+                lane.run();
+                future.complete(null);
+            } catch (RuntimeException | Error laneEx) {
+                future.completeExceptionally(laneEx);
+            }
+            return future;
+        }
+    }
+
+    private Executor getExecutor(String executorBeanName) {
+        return executors.computeIfAbsent(executorBeanName, name -> getBean(name, Executor.class));
+    }
+
+    private ReturnValueConverter.MapLikeReturnValue putUncachedResultToCache(CollectionCacheableOperation operation, @Nullable Object uncachedResult, Collection<?> ids,
+                                                                            CollectionCacheableOperationContext context, @Nullable Map<Object, Object> loadedEntries) {
+        ReturnValueConverter returnValueConverter = operation.getReturnValueConverter();
+        ReturnValueConverter.MapLikeReturnValue returnValue = uncachedResult == null ?
+                returnValueConverter.convert(null, new HashMap<>()) : returnValueConverter.convert(uncachedResult);
+        boolean canPutToCache = context.canPutToCache(uncachedResult);
+        if (!canPutToCache && loadedEntries == null) {
+            return returnValue;
+        }
+        Map<Object, Object> cacheEntries = collectCacheEntries(returnValue, context);
+        if (loadedEntries != null) {
+            loadedEntries.putAll(cacheEntries);
+        }
+        if (canPutToCache) {
+            Duration nullTimeToLive = getNullTimeToLive(operation);
+            if (operation.isPutNull() && nullTimeToLive == null) {
+                collectNullCacheEntries(cacheEntries, returnValue, ids, context);
+            }
+            putToCaches(cacheEntries, context);
+            if (operation.isPutNull() && nullTimeToLive != null) {
+                Map<Object, Object> nullCacheEntries = new HashMap<>();
+                collectNullCacheEntries(nullCacheEntries, returnValue, ids, context);
+                putToCaches(nullCacheEntries, context, nullTimeToLive);
+            }
+            AbsentKeysFilter absentKeysFilter = getAbsentKeysFilter(operation);
+            if (absentKeysFilter != null) {
+                addAbsentKeys(absentKeysFilter, returnValue, ids, context);
             }
         }
         return returnValue;
     }
 
-    private Map<Object, Object> findIdsInCache(Collection<?> idsArgument, CollectionCacheableOperationContext context) {
-        Map<Object, Object> cacheResult = new HashMap<>();
-        Iterator<?> idIterator = idsArgument.iterator();
-        while (idIterator.hasNext()) {
-            Object id = idIterator.next();
-            Object key = context.generateKeyFromSingleArgument(id);
-            Cache.ValueWrapper cacheHit = findInCaches(context, key);
-            if (cacheHit != null) {
-                if (cacheHit.get() != null) {
-                    cacheResult.put(id, cacheHit.get());
-                } else if (logger.isTraceEnabled()) {
-                    logger.trace("Ignoring null cache hit for key '" + key + "'");
+    @Nullable
+    private AbsentKeysFilter getAbsentKeysFilter(CollectionCacheableOperation operation) {
+        if (operation.getAbsentIdsFilterSize() <= 0) {
+            return null;
+        }
+        return absentKeysFilters.computeIfAbsent(operation,
+                op -> new AbsentKeysFilter(op.getAbsentIdsFilterSize(), op.getAbsentIdsFalsePositiveRate(),
+                        op.getAbsentIdsRotationMillis()));
+    }
+
+    private void addAbsentKeys(AbsentKeysFilter absentKeysFilter, ReturnValueConverter.MapLikeReturnValue returnValue,
+                               Collection<?> idsArgument, CollectionCacheableOperationContext context) {
+        for (Object id : idsArgument) {
+            if (!returnValue.containsKey(id)) {
+                Object key = context.generateKeyFromSingleArgument(id);
+                if (logger.isTraceEnabled()) {
+                    logger.trace("Recording key '" + key + "' as absent");
+                }
+                absentKeysFilter.add(key);
+            }
+        }
+    }
+
+    private static boolean isRefreshedInBackground(CollectionCacheableOperation operation) {
+        return operation.getRefreshAheadMillis() > 0 || operation.getStaleAfterMillis() > 0;
+    }
+
+    /**
+     * Reload the hits which expire within the refresh-ahead duration or are older than the
+     * stale-after duration of the operation in the background, unless they are already
+     * refreshed by another invocation.
+     */
+    private void refreshInBackground(CollectionCacheableOperation operation, CacheOperationInvoker invoker,
+                                     Map<Object, Object> hitIdsByKey, CollectionCacheableOperationContext context) {
+        if (!(invoker instanceof MethodInvocationInvoker) || !((MethodInvocationInvoker) invoker).canInvokeConcurrently()) {
+            logger.trace("Not refreshing in the background as the method cannot be invoked concurrently");
+            return;
+        }
+        Set<Object> expiringKeys = new HashSet<>();
+        for (Cache cache : context.getCaches()) {
+            if (!(cache instanceof ExpiryAwareCache)) {
+                continue;
+            }
+            if (operation.getRefreshAheadMillis() > 0) {
+                expiringKeys.addAll(doGetKeysExpiringWithin((ExpiryAwareCache) cache, hitIdsByKey.keySet(),
+                        Duration.ofMillis(operation.getRefreshAheadMillis())));
+            }
+            if (operation.getStaleAfterMillis() > 0) {
+                expiringKeys.addAll(doGetKeysOlderThan((ExpiryAwareCache) cache, hitIdsByKey.keySet(),
+                        Duration.ofMillis(operation.getStaleAfterMillis())));
+            }
+        }
+        if (expiringKeys.isEmpty()) {
+            return;
+        }
+        Set<Object> refreshing = refreshingKeys.computeIfAbsent(context.getCaches().iterator().next().getName(),
+                name -> ConcurrentHashMap.newKeySet());
+        List<Object> ownKeys = new ArrayList<>(expiringKeys.size());
+        List<Object> ownIds = new ArrayList<>(expiringKeys.size());
+        for (Object key : expiringKeys) {
+            if (refreshing.add(key)) {
+                ownKeys.add(key);
+                ownIds.add(hitIdsByKey.get(key));
+            }
+        }
+        if (ownKeys.isEmpty()) {
+            return;
+        }
+        if (logger.isTraceEnabled()) {
+            logger.trace("Refreshing keys " + ownKeys + " in the background");
+        }
+        // the calling thread keeps using its context, so the refresh gets its own
+        CollectionCacheableOperationContext refreshContext = context.copy();
+        Runnable refresh = () -> {
+            try {
+                refresh(operation, (MethodInvocationInvoker) invoker, ownIds, refreshContext);
+            } finally {
+                ownKeys.forEach(refreshing::remove);
+            }
+        };
+        try {
+            getExecutor(operation.getExecutor()).execute(refresh);
+        } catch (RejectedExecutionException ex) {
+            logger.debug("Executor rejected refresh of keys " + ownKeys, ex);
+            ownKeys.forEach(refreshing::remove);
+        }
+    }
+
+    private void refresh(CollectionCacheableOperation operation, MethodInvocationInvoker invoker, List<Object> ids,
+                         CollectionCacheableOperationContext context) {
+        CollectionCreator collectionCreator = Objects.requireNonNull(operation.getCollectionCreator());
+        Collection<?> idsArgument = collectionCreator.create(ids);
+        List<Collection<?>> batches = operation.getMaxBatchSize() > 0 ?
+                splitIntoBatches(idsArgument, operation.getMaxBatchSize(), collectionCreator) :
+                Collections.singletonList(idsArgument);
+        for (Collection<?> batch : batches) {
+            try {
+                long start = System.nanoTime();
+                Object batchResult = invoker.invokeWith(new Object[]{collectionCreator.toArgument(batch)});
+                context.getMetrics().recordInvocation(batch.size(), System.nanoTime() - start);
+                putUncachedResultToCache(operation, batchResult, batch, context, null);
+            } catch (CacheOperationInvoker.ThrowableWrapper ex) {
+                logger.warn("Refreshing ids " + batch + " in the background failed", ex.getOriginal());
+            }
+        }
+    }
+
+    private static List<Collection<?>> splitIntoBatches(Collection<?> ids, int maxBatchSize, CollectionCreator collectionCreator) {
+        List<Collection<?>> batches = new ArrayList<>(ids.size() / maxBatchSize + 1);
+        List<Object> batch = new ArrayList<>(Math.min(maxBatchSize, ids.size()));
+        for (Object id : ids) {
+            batch.add(id);
+            if (batch.size() == maxBatchSize) {
+                batches.add(collectionCreator.create(batch));
+                batch = new ArrayList<>(maxBatchSize);
+            }
+        }
+        if (!batch.isEmpty()) {
+            batches.add(collectionCreator.create(batch));
+        }
+        return batches;
+    }
+
+    private static Object invokeWithIds(CacheOperationInvoker invoker, Object[] invocationArgs, Object idsArgument) {
+        if (invoker instanceof MethodInvocationInvoker) {
+            return ((MethodInvocationInvoker) invoker).invokeWith(new Object[]{idsArgument});
+        }
+        invocationArgs[0] = idsArgument;
+        return invoker.invoke();
+    }
+
+    private static <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException ex) {
+            Throwable cause = ex.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw ex;
+        }
+    }
+
+    /**
+     * Look up the given ids in the caches and put the non-null cache hits into the given cache result.
+     * If given, the ids of all cache hits are also put into the hit ids by their cache key.
+     * Ids not found in the caches, but recorded as absent, are dropped.
+     *
+     * @return new collection created by the given collection creator with the ids not found in the caches
+     */
+    private Collection<?> findIdsInCache(Collection<?> ids, CollectionCreator collectionCreator,
+                                         Map<Object, Object> cacheResult, CollectionCacheableOperationContext context,
+                                         @Nullable Map<Object, Object> hitIdsByKey) {
+        long start = System.nanoTime();
+        // ids of primitive arrays are boxed only once
+        Object[] idArray = ids.toArray();
+        int requested = idArray.length;
+        Object[] keys = new Object[requested];
+        for (int i = 0; i < requested; i++) {
+            keys[i] = context.generateKeyFromSingleArgument(idArray[i]);
+        }
+        Map<Object, Object> cacheHits = findInCaches(context, Arrays.asList(keys));
+        // ids recorded as absent may have been cached since, so only the misses are filtered
+        AbsentKeysFilter absentKeysFilter = getAbsentKeysFilter((CollectionCacheableOperation) context.getOperation());
+        if (cacheHits.isEmpty() && absentKeysFilter == null) {
+            context.getMetrics().recordLookup(requested, 0, 0, System.nanoTime() - start);
+            return collectionCreator.create(ids);
+        }
+
+        List<Object> remainingIds = new ArrayList<>(Math.max(requested - cacheHits.size(), 0));
+        for (int i = 0; i < requested; i++) {
+            Object id = idArray[i];
+            Object key = keys[i];
+            if (!cacheHits.containsKey(key)) {
+                if (absentKeysFilter != null && absentKeysFilter.mightContain(key)) {
+                    if (logger.isTraceEnabled()) {
+                        logger.trace("Ignoring key '" + key + "' recorded as absent");
+                    }
+                } else {
+                    remainingIds.add(id);
                 }
-                idIterator.remove();
+                continue;
+            }
+            if (hitIdsByKey != null) {
+                hitIdsByKey.put(key, id);
+            }
+            Object value = cacheHits.get(key);
+            if (value != null) {
+                cacheResult.put(id, value);
+            } else if (logger.isTraceEnabled()) {
+                logger.trace("Ignoring null cache hit for key '" + key + "'");
             }
         }
-        return cacheResult;
+        int hits = cacheResult.size();
+        context.getMetrics().recordLookup(requested, hits, requested - remainingIds.size() - hits, System.nanoTime() - start);
+        return collectionCreator.create(remainingIds);
     }
 
-    private Object handleIsFindAll(CacheOperationInvoker invoker, ReturnValueConverter returnValueConverter, CollectionCacheableOperationContext context) {
+    private Object handleIsFindAll(CollectionCacheableOperation operation, CacheOperationInvoker invoker, CollectionCacheableOperationContext context) {
+        if (operation.isFindAllFromCache()) {
+            Object cachedResult = findAllInCache(operation, context);
+            if (cachedResult != null) {
+                return cachedResult;
+            }
+        }
         Object invocationResult = invoker.invoke();
+        if (operation.isReactive() && invocationResult != null) {
+            return new ReactiveSupport().handleFindAll(operation, invocationResult, context);
+        }
+        if (operation.isAsync() && invocationResult != null) {
+            return ((CompletionStage<?>) invocationResult).thenApply(result -> {
+                putFindAllResultToCache(operation, result, context);
+                return result;
+            }).toCompletableFuture();
+        }
+        putFindAllResultToCache(operation, invocationResult, context);
+        return invocationResult;
+    }
+
+    private void putFindAllResultToCache(CollectionCacheableOperation operation, Object invocationResult, CollectionCacheableOperationContext context) {
         if (context.canPutToCache(invocationResult)) {
             logger.trace("Putting result into cache for findAll case");
-            ReturnValueConverter.MapLikeReturnValue returnValue = returnValueConverter.convert(invocationResult);
-            putUncachedResultToCache(returnValue, context);
+            ReturnValueConverter.MapLikeReturnValue returnValue = operation.getReturnValueConverter().convert(invocationResult);
+            putToCaches(collectCacheEntries(returnValue, context), context);
+            if (operation.isFindAllFromCache()) {
+                // the ids are put after their values, so that they are never found without them
+                List<Object> ids = new ArrayList<>();
+                returnValue.forEach((id, value) -> ids.add(id));
+                Map<Object, Object> findAllEntry = Collections.singletonMap(new FindAllKey(operation.getName()), ids);
+                context.getCaches().forEach(cache -> putToCache(cache, findAllEntry));
+            }
         }
-        return invocationResult;
     }
 
-    private void putUncachedResultToCache(ReturnValueConverter.MapLikeReturnValue returnValue, CollectionCacheableOperationContext context) {
-        returnValue.forEach((key, value) -> {
-            Object cacheKey = context.generateKeyFromSingleArgument(key);
-            for (Cache cache : context.getCaches()) {
+    /**
+     * Assemble the result of a findAll operation from the caches, if the ids of its last
+     * result and all their values are still cached.
+     *
+     * @return the result, or {@code null} if it cannot be assembled from the caches
+     */
+    @Nullable
+    private Object findAllInCache(CollectionCacheableOperation operation, CollectionCacheableOperationContext context) {
+        long start = System.nanoTime();
+        Object findAllKey = new FindAllKey(operation.getName());
+        Object ids = findInCaches(context, Collections.singletonList(findAllKey)).get(findAllKey);
+        if (!(ids instanceof List)) {
+            logger.trace("Invoking findAll method as its ids are not cached");
+            return null;
+        }
+        List<?> idList = (List<?>) ids;
+        List<Object> keys = new ArrayList<>(idList.size());
+        for (Object id : idList) {
+            keys.add(context.generateKeyFromSingleArgument(id));
+        }
+        Map<Object, Object> cacheHits = findInCaches(context, keys);
+        Map<Object, Object> cacheResult = CollectionUtils.newLinkedHashMap(idList.size());
+        for (int i = 0; i < idList.size(); i++) {
+            Object value = cacheHits.get(keys.get(i));
+            if (value == null) {
                 if (logger.isTraceEnabled()) {
-                    logger.trace("Putting value for key '" + cacheKey + "' into cache '" + cache.getName() + "'");
+                    logger.trace("Invoking findAll method as key '" + keys.get(i) + "' is not cached anymore");
                 }
-                doPut(cache, cacheKey, value);
+                context.getMetrics().recordLookup(idList.size(), cacheHits.size(), 0, System.nanoTime() - start);
+                return null;
             }
-        });
+            cacheResult.put(idList.get(i), value);
+        }
+        context.getMetrics().recordLookup(idList.size(), idList.size(), 0, System.nanoTime() - start);
+        return operation.getReturnValueConverter().convert(null, cacheResult);
     }
 
-    private void putNullToCache(ReturnValueConverter.MapLikeReturnValue returnValue, Collection<?> idsArgument, CollectionCacheableOperationContext context) {
+    private Map<Object, Object> collectCacheEntries(ReturnValueConverter.MapLikeReturnValue returnValue, CollectionCacheableOperationContext context) {
+        Map<Object, Object> cacheEntries = new HashMap<>();
+        returnValue.forEach((key, value) -> cacheEntries.put(context.generateKeyFromSingleArgument(key), value));
+        return cacheEntries;
+    }
+
+    private void collectNullCacheEntries(Map<Object, Object> cacheEntries, ReturnValueConverter.MapLikeReturnValue returnValue, Collection<?> idsArgument, CollectionCacheableOperationContext context) {
         for (Object id : idsArgument) {
             if (!returnValue.containsKey(id)) {
-                Object key = context.generateKeyFromSingleArgument(id);
-                for (Cache cache : context.getCaches()) {
-                    if (logger.isTraceEnabled()) {
-                        logger.trace("Putting explicit null for key '" + key + "' into cache '" + cache.getName() + "'");
-                    }
-                    doPut(cache, key, null);
+                cacheEntries.put(context.generateKeyFromSingleArgument(id), null);
+            }
+        }
+    }
+
+    private void putToCaches(Map<Object, Object> cacheEntries, CollectionCacheableOperationContext context) {
+        putToCaches(cacheEntries, context, null);
+    }
+
+    /**
+     * Put the given entries into all caches, with the given time to live
+     * into the caches implementing {@link TimeToLiveCache}, if any.
+     */
+    private void putToCaches(Map<Object, Object> cacheEntries, CollectionCacheableOperationContext context,
+                             @Nullable Duration timeToLive) {
+        if (cacheEntries.isEmpty()) {
+            return;
+        }
+        long start = System.nanoTime();
+        for (Cache cache : context.getCaches()) {
+            if (timeToLive != null && cache instanceof TimeToLiveCache) {
+                if (logger.isTraceEnabled()) {
+                    logger.trace("Putting values for keys " + cacheEntries.keySet() + " with time to live " + timeToLive +
+                            " into cache '" + cache.getName() + "'");
                 }
+                doPutAll((TimeToLiveCache) cache, cacheEntries, timeToLive);
+            } else {
+                putToCache(cache, cacheEntries);
             }
         }
+        context.getMetrics().recordPut(cacheEntries.size(), System.nanoTime() - start);
     }
 
     @Nullable
-    private Cache.ValueWrapper findInCaches(CollectionCacheableOperationContext context, Object key) {
-        for (Cache cache : context.getCaches()) {
-            Cache.ValueWrapper wrapper = doGet(cache, key);
-            if (wrapper != null) {
+    private static Duration getNullTimeToLive(CollectionCacheableOperation operation) {
+        return operation.getNullTtlMillis() > 0 ? Duration.ofMillis(operation.getNullTtlMillis()) : null;
+    }
+
+    private void putToCache(Cache cache, Map<Object, Object> cacheEntries) {
+        if (cache instanceof BulkCache) {
+            if (logger.isTraceEnabled()) {
+                logger.trace("Putting values for keys " + cacheEntries.keySet() + " into cache '" + cache.getName() + "'");
+            }
+            doPutAll((BulkCache) cache, cacheEntries);
+        } else {
+            cacheEntries.forEach((key, value) -> {
                 if (logger.isTraceEnabled()) {
-                    logger.trace("Found cache hit for key '" + key + "' from cache '" + cache.getName() + "'");
+                    logger.trace("Putting " + (value == null ? "explicit null" : "value") + " for key '" + key + "' into cache '" + cache.getName() + "'");
                 }
-                return wrapper;
+                doPut(cache, key, value);
+            });
+        }
+    }
+
+    private Map<Object, Object> findInCaches(CollectionCacheableOperationContext context, List<Object> keys) {
+        CollectionCacheableOperation operation = (CollectionCacheableOperation) context.getOperation();
+        boolean tiered = operation.isTiered();
+        List<Cache> upperTiers = tiered ? new ArrayList<>() : Collections.emptyList();
+        Map<Object, Object> cacheHits = Collections.emptyMap();
+        List<Object> remainingKeys = keys;
+        Iterator<? extends Cache> cacheIterator = context.getCaches().iterator();
+        while (cacheIterator.hasNext() && !remainingKeys.isEmpty()) {
+            Cache cache = cacheIterator.next();
+            Map<Object, Object> hits = findInCache(cache, remainingKeys);
+            if (tiered) {
+                // promote the hits of this tier into the tiers which missed them
+                if (!hits.isEmpty()) {
+                    promoteToCaches(upperTiers, hits, getNullTimeToLive(operation));
+                }
+                upperTiers.add(cache);
+            }
+            if (hits.isEmpty()) {
+                continue;
+            }
+            if (logger.isTraceEnabled()) {
+                logger.trace("Found cache hits for keys " + hits.keySet() + " from cache '" + cache.getName() + "'");
+            }
+            if (cacheHits.isEmpty()) {
+                // the hits of a single cache are used as they are
+                cacheHits = hits;
+            } else {
+                cacheHits = new HashMap<>(cacheHits);
+                cacheHits.putAll(hits);
+            }
+            if (cacheIterator.hasNext()) {
+                Map<Object, Object> foundHits = cacheHits;
+                remainingKeys = remainingKeys.stream()
+                        .filter(key -> !foundHits.containsKey(key))
+                        .collect(Collectors.toList());
             }
         }
-        return null;
+        return cacheHits;
     }
 
-    private static Collection<?> injectCollectionArgument(CollectionCreator collectionCreator, Object[] invocationArgs) {
-        if (invocationArgs.length == 1 && invocationArgs[0] instanceof Collection) {
-            Collection<?> createdCollection = collectionCreator.create((Collection<?>) invocationArgs[0]);
-            invocationArgs[0] = createdCollection;
-            return createdCollection;
+    /**
+     * Put the hits of a lower tier into the given upper tiers, keeping the time
+     * to live of explicit {@code null} entries like {@link #putToCaches}.
+     */
+    private void promoteToCaches(List<Cache> upperTiers, Map<Object, Object> hits, @Nullable Duration nullTimeToLive) {
+        if (nullTimeToLive == null || upperTiers.stream().noneMatch(TimeToLiveCache.class::isInstance)) {
+            upperTiers.forEach(upperTier -> putToCache(upperTier, hits));
+            return;
+        }
+        Map<Object, Object> values = new HashMap<>();
+        Map<Object, Object> nulls = new HashMap<>();
+        hits.forEach((key, value) -> (value == null ? nulls : values).put(key, value));
+        for (Cache upperTier : upperTiers) {
+            if (!values.isEmpty()) {
+                putToCache(upperTier, values);
+            }
+            if (nulls.isEmpty()) {
+                continue;
+            }
+            if (upperTier instanceof TimeToLiveCache) {
+                doPutAll((TimeToLiveCache) upperTier, nulls, nullTimeToLive);
+            } else {
+                putToCache(upperTier, nulls);
+            }
+        }
+    }
+
+    private Map<Object, Object> findInCache(Cache cache, List<Object> keys) {
+        if (cache instanceof BulkCache) {
+            return doGetAll((BulkCache) cache, keys);
+        }
+        Map<Object, Object> hits = new HashMap<>();
+        for (Object key : keys) {
+            Cache.ValueWrapper wrapper = doGet(cache, key);
+            if (wrapper != null) {
+                hits.put(key, wrapper.get());
+            }
+        }
+        return hits;
+    }
+
+    /**
+     * Execute {@link BulkCache#getAll(Collection)} on the specified {@link BulkCache}
+     * and invoke the error handler if an exception occurs. Return an empty map if
+     * the handler does not throw any exception, which simulates a cache miss in
+     * case of error.
+     *
+     * @param cache bulk cache
+     * @param keys  keys to look up
+     * @return map of cache hits
+     */
+    protected Map<Object, Object> doGetAll(BulkCache cache, Collection<?> keys) {
+        try {
+            return cache.getAll(keys);
+        } catch (RuntimeException ex) {
+            getErrorHandler().handleCacheGetError(ex, cache, keys);
+            return Collections.emptyMap();
+        }
+    }
+
+    /**
+     * Execute {@link ExpiryAwareCache#getKeysExpiringWithin(Collection, Duration)} on the
+     * specified {@link ExpiryAwareCache} and invoke the error handler if an exception
+     * occurs. Return an empty collection if the handler does not throw any exception,
+     * so that no entry is refreshed in case of error.
+     *
+     * @param cache    expiry aware cache
+     * @param keys     keys to check
+     * @param duration duration from now
+     * @return keys of the entries expiring within the duration
+     */
+    protected Collection<Object> doGetKeysExpiringWithin(ExpiryAwareCache cache, Collection<?> keys, Duration duration) {
+        try {
+            return cache.getKeysExpiringWithin(keys, duration);
+        } catch (RuntimeException ex) {
+            getErrorHandler().handleCacheGetError(ex, cache, keys);
+            return Collections.emptyList();
+        }
+    }
+
+    /**
+     * Execute {@link ExpiryAwareCache#getKeysOlderThan(Collection, Duration)} on the
+     * specified {@link ExpiryAwareCache} and invoke the error handler if an exception
+     * occurs. Return an empty collection if the handler does not throw any exception,
+     * so that no entry is refreshed in case of error.
+     *
+     * @param cache expiry aware cache
+     * @param keys  keys to check
+     * @param age   age of the entries
+     * @return keys of the entries older than the age
+     */
+    protected Collection<Object> doGetKeysOlderThan(ExpiryAwareCache cache, Collection<?> keys, Duration age) {
+        try {
+            return cache.getKeysOlderThan(keys, age);
+        } catch (RuntimeException ex) {
+            getErrorHandler().handleCacheGetError(ex, cache, keys);
+            return Collections.emptyList();
+        }
+    }
+
+    /**
+     * Execute {@link BulkCache#putAll(Map)} on the specified {@link BulkCache}
+     * and invoke the error handler if an exception occurs.
+     *
+     * @param cache   bulk cache
+     * @param entries keys mapped to their (possibly {@code null}) values
+     */
+    protected void doPutAll(BulkCache cache, Map<Object, Object> entries) {
+        try {
+            cache.putAll(entries);
+        } catch (RuntimeException ex) {
+            getErrorHandler().handleCachePutError(ex, cache, entries.keySet(), entries.values());
+        }
+    }
+
+    /**
+     * Execute {@link TimeToLiveCache#putAll(Map, Duration)} on the specified
+     * {@link TimeToLiveCache} and invoke the error handler if an exception occurs.
+     *
+     * @param cache      time to live cache
+     * @param entries    keys mapped to their (possibly {@code null}) values
+     * @param timeToLive time to live of the entries
+     */
+    protected void doPutAll(TimeToLiveCache cache, Map<Object, Object> entries, Duration timeToLive) {
+        try {
+            cache.putAll(entries, timeToLive);
+        } catch (RuntimeException ex) {
+            getErrorHandler().handleCachePutError(ex, cache, entries.keySet(), entries.values());
+        }
+    }
+
+    /**
+     * Execute {@link BulkCache#evictAll(Collection)} on the specified {@link BulkCache}
+     * and invoke the error handler if an exception occurs.
+     *
+     * @param cache bulk cache
+     * @param keys  keys to evict
+     */
+    protected void doEvictAll(BulkCache cache, Collection<?> keys) {
+        try {
+            cache.evictAll(keys);
+        } catch (RuntimeException ex) {
+            getErrorHandler().handleCacheEvictError(ex, cache, keys);
+        }
+    }
+
+    private static Collection<?> getCollectionArgument(CollectionCreator collectionCreator, Object[] invocationArgs) {
+        Collection<?> collectionArgument = invocationArgs.length == 1 && invocationArgs[0] != null ?
+                collectionCreator.fromArgument(invocationArgs[0]) : null;
+        if (collectionArgument != null) {
+            return collectionArgument;
         }
         throw new IllegalStateException("Did not find exactly one Collection-like argument");
     }
 
+    @Override
+    protected Collection<? extends Cache> getCaches(CacheOperationInvocationContext<CacheOperation> context, CacheResolver cacheResolver) {
+        Collection<? extends Cache> caches = super.getCaches(context, cacheResolver);
+        boolean isCollectionOperation = context.getOperation() instanceof CollectionCacheableOperation
+                || context.getOperation() instanceof CollectionCacheEvictOperation;
+        if (!isCollectionOperation || bulkCacheAdapters.isEmpty()) {
+            return caches;
+        }
+        List<Cache> adapted = new ArrayList<>(caches.size());
+        for (Cache cache : caches) {
+            adapted.add(cache instanceof BulkCache ? cache : adaptedCaches.computeIfAbsent(cache, this::adaptCache));
+        }
+        return adapted;
+    }
+
+    private Cache adaptCache(Cache cache) {
+        for (BulkCacheAdapter bulkCacheAdapter : bulkCacheAdapters) {
+            if (bulkCacheAdapter.canAdapt(cache)) {
+                return bulkCacheAdapter.adapt(cache);
+            }
+        }
+        return cache;
+    }
+
+    /**
+     * Handling of methods returning a Reactor {@link Mono} or {@link Flux}. Kept in a
+     * separate class so that Reactor is only loaded if such methods are used.
+     * The cache is looked up when subscribing, so every subscription sees the
+     * current cache content and gets its own operation context.
+     */
+    private class ReactiveSupport {
+
+        Object handle(CollectionCacheableOperation operation, CacheOperationInvoker invoker, Object[] invocationArgs,
+                      Collection<?> idsArgument, CollectionCacheableOperationContext context) {
+            CollectionCreator collectionCreator = Objects.requireNonNull(operation.getCollectionCreator());
+            ReturnValueConverter returnValueConverter = operation.getReturnValueConverter();
+            if (Flux.class.isAssignableFrom(context.getMethod().getReturnType())) {
+                return Flux.defer(() -> {
+                    CollectionCacheableOperationContext subscriptionContext = context.copy();
+                    Map<Object, Object> cacheResult = CollectionUtils.newHashMap(idsArgument.size());
+                    Collection<?> ids = findIdsInCache(idsArgument, collectionCreator, cacheResult, subscriptionContext, null);
+                    Flux<Object> cachedItems = Flux.fromIterable(cacheResult.values());
+                    if (ids.isEmpty()) {
+                        return cachedItems;
+                    }
+                    return cachedItems.concatWith(Flux.defer(() ->
+                            putItemsToCache(operation, Flux.from(invokeReactive(operation, invoker, invocationArgs, ids)), ids, subscriptionContext)));
+                });
+            }
+            return Mono.defer(() -> {
+                CollectionCacheableOperationContext subscriptionContext = context.copy();
+                Map<Object, Object> cacheResult = CollectionUtils.newHashMap(idsArgument.size());
+                Collection<?> ids = findIdsInCache(idsArgument, collectionCreator, cacheResult, subscriptionContext, null);
+                if (ids.isEmpty()) {
+                    return Mono.just(returnValueConverter.convert(null, cacheResult));
+                }
+                return Mono.from(invokeReactive(operation, invoker, invocationArgs, ids))
+                        .map(Optional::of)
+                        .defaultIfEmpty(Optional.empty())
+                        .map(uncachedResult -> {
+                            putUncachedResultToCache(operation, uncachedResult.orElse(null), ids, subscriptionContext, null);
+                            return returnValueConverter.convert(uncachedResult.orElse(null), cacheResult);
+                        });
+            });
+        }
+
+        Object handleFindAll(CollectionCacheableOperation operation, Object invocationResult, CollectionCacheableOperationContext context) {
+            if (invocationResult instanceof Flux) {
+                return Flux.defer(() ->
+                        putItemsToCache(operation, (Flux<?>) invocationResult, Collections.emptyList(), context.copy()));
+            }
+            return Mono.defer(() -> {
+                CollectionCacheableOperationContext subscriptionContext = context.copy();
+                return ((Mono<?>) invocationResult).doOnNext(result -> putFindAllResultToCache(operation, result, subscriptionContext));
+            });
+        }
+
+        /**
+         * Put every emitted item into the caches as it streams through, evaluating
+         * 'unless' for each item. Explicit nulls for the ids which have not been
+         * emitted are put once the Flux completes.
+         */
+        private Flux<?> putItemsToCache(CollectionCacheableOperation operation, Flux<?> items, Collection<?> ids,
+                                        CollectionCacheableOperationContext context) {
+            ReturnValueConverter returnValueConverter = operation.getReturnValueConverter();
+            Set<Object> emittedIds = operation.isPutNull() ? new HashSet<>() : null;
+            Flux<?> cachingItems = items.doOnNext(item -> {
+                ReturnValueConverter.MapLikeReturnValue returnValue = returnValueConverter.convert(Collections.singletonList(item));
+                if (emittedIds != null) {
+                    returnValue.forEach((id, value) -> emittedIds.add(id));
+                }
+                if (context.canPutToCache(item)) {
+                    putToCaches(collectCacheEntries(returnValue, context), context);
+                }
+            });
+            if (emittedIds == null) {
+                return cachingItems;
+            }
+            return cachingItems.doOnComplete(() -> {
+                Map<Object, Object> nullCacheEntries = new HashMap<>();
+                for (Object id : ids) {
+                    if (!emittedIds.contains(id)) {
+                        nullCacheEntries.put(context.generateKeyFromSingleArgument(id), null);
+                    }
+                }
+                putToCaches(nullCacheEntries, context, getNullTimeToLive(operation));
+            });
+        }
+
+        private Publisher<?> invokeReactive(CollectionCacheableOperation operation, CacheOperationInvoker invoker, Object[] invocationArgs,
+                                            Collection<?> ids) {
+            if (logger.isTraceEnabled()) {
+                logger.trace("Invoking reactive method with remaining ids " + ids);
+            }
+            try {
+                Object idsArgument = Objects.requireNonNull(operation.getCollectionCreator()).toArgument(ids);
+                Publisher<?> publisher = (Publisher<?>) invokeWithIds(invoker, invocationArgs, idsArgument);
+                return publisher == null ? Mono.empty() : publisher;
+            } catch (CacheOperationInvoker.ThrowableWrapper th) {
+                return Mono.error(th.getOriginal());
+            }
+        }
+    }
+
     @Nullable
     private CollectionCacheableOperation findCollectionCacheableOperation(@Nullable Collection<CacheOperation> operations) {
         if (operations == null) {
@@ -197,17 +1311,110 @@ public class CollectionCacheableCacheInterceptor extends CacheInterceptor {
         return new CollectionCacheableOperationContext(metadata, operation, currentArgs, target);
     }
 
+    /**
+     * Everything about a {@link CollectionCacheableOperation} on a specific method
+     * and target class which does not change between invocations, including a
+     * {@link SingleArgumentKeyGenerator} if keys can be generated without SpEL
+     * evaluation context. The caches are
+     * not part of the plan, as a {@link CacheResolver} may resolve different
+     * caches for each invocation.
+     */
+    private final class OperationPlan {
+        private final CollectionCacheableOperation operation;
+        private final CacheOperationMetadata metadata;
+        private final CollectionCacheableMetrics.OperationMetrics metrics;
+        @Nullable
+        private final SingleArgumentKeyGenerator keyGenerator;
+
+        private OperationPlan(CollectionCacheableOperation operation, CacheOperationMetadata metadata,
+                              CollectionCacheableMetrics.OperationMetrics metrics, @Nullable SingleArgumentKeyGenerator keyGenerator) {
+            this.operation = operation;
+            this.metadata = metadata;
+            this.metrics = metrics;
+            this.keyGenerator = keyGenerator;
+        }
+
+        private CollectionCacheableOperationContext createContext(Object target) {
+            return new CollectionCacheableOperationContext(metadata, operation, new Object[]{null}, target, metrics, keyGenerator);
+        }
+    }
+
+    private final class EvictPlan {
+        private final List<EvictOperationPlan> beforeInvocationPlans;
+        private final List<EvictOperationPlan> afterInvocationPlans;
+
+        private EvictPlan(List<EvictOperationPlan> beforeInvocationPlans, List<EvictOperationPlan> afterInvocationPlans) {
+            this.beforeInvocationPlans = beforeInvocationPlans;
+            this.afterInvocationPlans = afterInvocationPlans;
+        }
+    }
+
+    private final class EvictOperationPlan {
+        private final CollectionCacheEvictOperation operation;
+        private final CacheOperationMetadata metadata;
+        @Nullable
+        private final SingleArgumentKeyGenerator keyGenerator;
+
+        private EvictOperationPlan(CollectionCacheEvictOperation operation, CacheOperationMetadata metadata,
+                                   @Nullable SingleArgumentKeyGenerator keyGenerator) {
+            this.operation = operation;
+            this.metadata = metadata;
+            this.keyGenerator = keyGenerator;
+        }
+
+        private CollectionCacheableOperationContext createContext(Object target) {
+            return new CollectionCacheableOperationContext(metadata, operation, new Object[]{null}, target,
+                    CollectionCacheableMetrics.OperationMetrics.NOOP, keyGenerator);
+        }
+    }
+
     protected class CollectionCacheableOperationContext extends CacheOperationContext {
+        private final CacheOperationMetadata metadata;
         private final CacheOperation operation;
         private final Object[] currentArgs;
+        private final CollectionCacheableMetrics.OperationMetrics metrics;
+        @Nullable
+        private final SingleArgumentKeyGenerator keyGenerator;
 
         public CollectionCacheableOperationContext(CacheOperationMetadata metadata, CacheOperation operation, Object[] currentArgs, Object target) {
+            this(metadata, operation, currentArgs, target, CollectionCacheableMetrics.OperationMetrics.NOOP);
+        }
+
+        public CollectionCacheableOperationContext(CacheOperationMetadata metadata, CacheOperation operation, Object[] currentArgs, Object target,
+                                                   CollectionCacheableMetrics.OperationMetrics metrics) {
+            this(metadata, operation, currentArgs, target, metrics, null);
+        }
+
+        private CollectionCacheableOperationContext(CacheOperationMetadata metadata, CacheOperation operation, Object[] currentArgs, Object target,
+                                                    CollectionCacheableMetrics.OperationMetrics metrics, @Nullable SingleArgumentKeyGenerator keyGenerator) {
             super(metadata, currentArgs, target);
+            this.metadata = metadata;
             this.operation = operation;
             this.currentArgs = currentArgs;
+            this.metrics = metrics;
+            this.keyGenerator = keyGenerator;
+        }
+
+        /**
+         * Create a context for the same operation which can be used concurrently with this one.
+         *
+         * @return new context
+         */
+        public CollectionCacheableOperationContext copy() {
+            return new CollectionCacheableOperationContext(metadata, operation, new Object[]{null}, getTarget(), metrics, keyGenerator);
+        }
+
+        public CollectionCacheableMetrics.OperationMetrics getMetrics() {
+            return metrics;
         }
 
         public Object generateKeyFromSingleArgument(Object arg) {
+            if (keyGenerator != null) {
+                Object key = keyGenerator.generate(arg);
+                if (key != null) {
+                    return key;
+                }
+            }
             currentArgs[0] = arg;
             Object key = generateKey(arg);
             if (key == null) {
@@ -0,0 +1,44 @@
+/*-
+ * #%L
+ * Collection Cacheable for Spring :: Starter
+ * %%
+ * Copyright (C) 2020 QAware GmbH
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+package de.qaware.tools.collectioncacheableforspring;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import de.qaware.tools.collectioncacheableforspring.cache.caffeine.CaffeineBulkCacheAdapter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Enables bulk lookups and writes on {@link CaffeineCache caffeine caches}
+ * if Caffeine is on the classpath.
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnClass({Caffeine.class, CaffeineCache.class})
+public class CollectionCacheableCaffeineAutoConfiguration {
+
+    @Bean
+    @ConditionalOnMissingBean
+    public CaffeineBulkCacheAdapter collectionCacheableCaffeineBulkCacheAdapter() {
+        return new CaffeineBulkCacheAdapter();
+    }
+}
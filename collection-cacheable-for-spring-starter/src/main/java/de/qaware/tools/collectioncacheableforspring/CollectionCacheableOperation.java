@@ -30,6 +30,34 @@ public class CollectionCacheableOperation extends CachePutOperation {
 
     private final boolean putNull;
 
+    private final boolean sync;
+
+    private final boolean async;
+
+    private final boolean reactive;
+
+    private final int maxBatchSize;
+
+    private final String executor;
+
+    private final int parallelism;
+
+    private final boolean tiered;
+
+    private final long refreshAheadMillis;
+
+    private final long staleAfterMillis;
+
+    private final boolean findAllFromCache;
+
+    private final long nullTtlMillis;
+
+    private final int absentIdsFilterSize;
+
+    private final double absentIdsFalsePositiveRate;
+
+    private final long absentIdsRotationMillis;
+
     private final CollectionCreator collectionCreator;
 
     private final ReturnValueConverter returnValueConverter;
@@ -38,6 +66,20 @@ public class CollectionCacheableOperation extends CachePutOperation {
         super(b);
         this.isFindAll = b.isFindAll;
         this.putNull = b.putNull;
+        this.sync = b.sync;
+        this.async = b.async;
+        this.reactive = b.reactive;
+        this.maxBatchSize = b.maxBatchSize;
+        this.executor = b.executor;
+        this.parallelism = b.parallelism;
+        this.tiered = b.tiered;
+        this.refreshAheadMillis = b.refreshAheadMillis;
+        this.staleAfterMillis = b.staleAfterMillis;
+        this.findAllFromCache = b.findAllFromCache;
+        this.nullTtlMillis = b.nullTtlMillis;
+        this.absentIdsFilterSize = b.absentIdsFilterSize;
+        this.absentIdsFalsePositiveRate = b.absentIdsFalsePositiveRate;
+        this.absentIdsRotationMillis = b.absentIdsRotationMillis;
         this.collectionCreator = b.collectionCreator;
         this.returnValueConverter = b.returnValueConverter;
     }
@@ -50,6 +92,75 @@ public class CollectionCacheableOperation extends CachePutOperation {
         return putNull;
     }
 
+    public boolean isSync() {
+        return sync;
+    }
+
+    /**
+     * Return whether the method returns a {@link java.util.concurrent.CompletionStage}
+     * completing with the value handled by the {@link #getReturnValueConverter() return value converter}.
+     *
+     * @return true if the method is asynchronous
+     */
+    public boolean isAsync() {
+        return async;
+    }
+
+    /**
+     * Return whether the method returns a Reactor {@code Mono} completing with the value
+     * handled by the {@link #getReturnValueConverter() return value converter}, or a
+     * Reactor {@code Flux} emitting the items of such a value.
+     *
+     * @return true if the method is reactive
+     */
+    public boolean isReactive() {
+        return reactive;
+    }
+
+    public int getMaxBatchSize() {
+        return maxBatchSize;
+    }
+
+    public String getExecutor() {
+        return executor;
+    }
+
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    public boolean isTiered() {
+        return tiered;
+    }
+
+    public long getRefreshAheadMillis() {
+        return refreshAheadMillis;
+    }
+
+    public long getStaleAfterMillis() {
+        return staleAfterMillis;
+    }
+
+    public boolean isFindAllFromCache() {
+        return findAllFromCache;
+    }
+
+    public long getNullTtlMillis() {
+        return nullTtlMillis;
+    }
+
+    public int getAbsentIdsFilterSize() {
+        return absentIdsFilterSize;
+    }
+
+    public double getAbsentIdsFalsePositiveRate() {
+        return absentIdsFalsePositiveRate;
+    }
+
+    public long getAbsentIdsRotationMillis() {
+        return absentIdsRotationMillis;
+    }
+
     public CollectionCreator getCollectionCreator() {
         return collectionCreator;
     }
@@ -74,6 +185,34 @@ public class CollectionCacheableOperation extends CachePutOperation {
 
         private boolean putNull;
 
+        private boolean sync;
+
+        private boolean async;
+
+        private boolean reactive;
+
+        private int maxBatchSize;
+
+        private String executor = "";
+
+        private int parallelism;
+
+        private boolean tiered;
+
+        private long refreshAheadMillis;
+
+        private long staleAfterMillis;
+
+        private boolean findAllFromCache;
+
+        private long nullTtlMillis;
+
+        private int absentIdsFilterSize;
+
+        private double absentIdsFalsePositiveRate;
+
+        private long absentIdsRotationMillis;
+
         private CollectionCreator collectionCreator;
 
         private ReturnValueConverter returnValueConverter;
@@ -86,6 +225,62 @@ public class CollectionCacheableOperation extends CachePutOperation {
             this.putNull = putNull;
         }
 
+        public void setSync(boolean sync) {
+            this.sync = sync;
+        }
+
+        public void setAsync(boolean async) {
+            this.async = async;
+        }
+
+        public void setReactive(boolean reactive) {
+            this.reactive = reactive;
+        }
+
+        public void setMaxBatchSize(int maxBatchSize) {
+            this.maxBatchSize = maxBatchSize;
+        }
+
+        public void setExecutor(String executor) {
+            this.executor = executor;
+        }
+
+        public void setParallelism(int parallelism) {
+            this.parallelism = parallelism;
+        }
+
+        public void setTiered(boolean tiered) {
+            this.tiered = tiered;
+        }
+
+        public void setRefreshAheadMillis(long refreshAheadMillis) {
+            this.refreshAheadMillis = refreshAheadMillis;
+        }
+
+        public void setStaleAfterMillis(long staleAfterMillis) {
+            this.staleAfterMillis = staleAfterMillis;
+        }
+
+        public void setFindAllFromCache(boolean findAllFromCache) {
+            this.findAllFromCache = findAllFromCache;
+        }
+
+        public void setNullTtlMillis(long nullTtlMillis) {
+            this.nullTtlMillis = nullTtlMillis;
+        }
+
+        public void setAbsentIdsFilterSize(int absentIdsFilterSize) {
+            this.absentIdsFilterSize = absentIdsFilterSize;
+        }
+
+        public void setAbsentIdsFalsePositiveRate(double absentIdsFalsePositiveRate) {
+            this.absentIdsFalsePositiveRate = absentIdsFalsePositiveRate;
+        }
+
+        public void setAbsentIdsRotationMillis(long absentIdsRotationMillis) {
+            this.absentIdsRotationMillis = absentIdsRotationMillis;
+        }
+
         public void setCollectionCreator(CollectionCreator collectionCreator) {
             this.collectionCreator = collectionCreator;
         }
@@ -101,6 +296,61 @@ public class CollectionCacheableOperation extends CachePutOperation {
                     .append(isFindAll)
                     .append(" | putNull=")
                     .append(putNull);
+            if (this.sync) {
+                sb.append(" | sync=true");
+            }
+            if (this.async) {
+                sb.append(" | async=true");
+            }
+            if (this.reactive) {
+                sb.append(" | reactive=true");
+            }
+            if (this.maxBatchSize != 0) {
+                sb
+                        .append(" | maxBatchSize=")
+                        .append(this.maxBatchSize);
+            }
+            if (!this.executor.isEmpty()) {
+                sb
+                        .append(" | executor='")
+                        .append(this.executor)
+                        .append("'");
+            }
+            if (this.parallelism != 0) {
+                sb
+                        .append(" | parallelism=")
+                        .append(this.parallelism);
+            }
+            if (this.tiered) {
+                sb.append(" | tiered=true");
+            }
+            if (this.refreshAheadMillis != 0) {
+                sb
+                        .append(" | refreshAheadMillis=")
+                        .append(this.refreshAheadMillis);
+            }
+            if (this.staleAfterMillis != 0) {
+                sb
+                        .append(" | staleAfterMillis=")
+                        .append(this.staleAfterMillis);
+            }
+            if (this.findAllFromCache) {
+                sb.append(" | findAllFromCache=true");
+            }
+            if (this.nullTtlMillis != 0) {
+                sb
+                        .append(" | nullTtlMillis=")
+                        .append(this.nullTtlMillis);
+            }
+            if (this.absentIdsFilterSize != 0) {
+                sb
+                        .append(" | absentIdsFilterSize=")
+                        .append(this.absentIdsFilterSize)
+                        .append(" | absentIdsFalsePositiveRate=")
+                        .append(this.absentIdsFalsePositiveRate)
+                        .append(" | absentIdsRotationMillis=")
+                        .append(this.absentIdsRotationMillis);
+            }
             if (this.collectionCreator != null) {
                 sb
                         .append(" | collectionCreator=")
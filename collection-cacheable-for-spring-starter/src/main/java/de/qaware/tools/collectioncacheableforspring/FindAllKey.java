@@ -0,0 +1,53 @@
+/*-
+ * #%L
+ * Collection Cacheable for Spring :: Starter
+ * %%
+ * Copyright (C) 2020 QAware GmbH
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+package de.qaware.tools.collectioncacheableforspring;
+
+import java.io.Serializable;
+
+/**
+ * Cache key of the ids returned by a {@link CollectionCacheable#findAllFromCache()}
+ * operation, which marks that all of them have been put into the cache.
+ */
+final class FindAllKey implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private final String operationName;
+
+    FindAllKey(String operationName) {
+        this.operationName = operationName;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return this == other || (other instanceof FindAllKey && operationName.equals(((FindAllKey) other).operationName));
+    }
+
+    @Override
+    public int hashCode() {
+        return operationName.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return "FindAllKey[" + operationName + "]";
+    }
+}
@@ -0,0 +1,57 @@
+/*-
+ * #%L
+ * Collection Cacheable for Spring :: Starter
+ * %%
+ * Copyright (C) 2020 QAware GmbH
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+package de.qaware.tools.collectioncacheableforspring;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Registry of cache keys currently being loaded by {@link CollectionCacheable#sync() synchronized}
+ * operations. Relies on the fine-grained locking of {@link ConcurrentHashMap}, so registering
+ * and releasing an uncontended key costs one map operation each.
+ */
+class InFlightLoads {
+
+    private final ConcurrentMap<String, ConcurrentMap<Object, Load>> loadsByCacheName = new ConcurrentHashMap<>();
+
+    ConcurrentMap<Object, Load> forCache(String cacheName) {
+        ConcurrentMap<Object, Load> loads = loadsByCacheName.get(cacheName);
+        if (loads != null) {
+            return loads;
+        }
+        return loadsByCacheName.computeIfAbsent(cacheName, name -> new ConcurrentHashMap<>());
+    }
+
+    /**
+     * Load of many keys, completed with the loaded values by cache key.
+     * Keys without a value have not been found by the load.
+     */
+    static class Load extends CompletableFuture<Map<Object, Object>> {
+
+        private final Thread owner = Thread.currentThread();
+
+        boolean isOwnedByCurrentThread() {
+            return owner == Thread.currentThread();
+        }
+    }
+}
@@ -0,0 +1,87 @@
+/*-
+ * #%L
+ * Collection Cacheable for Spring :: Starter
+ * %%
+ * Copyright (C) 2020 QAware GmbH
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+package de.qaware.tools.collectioncacheableforspring;
+
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.aop.ProxyMethodInvocation;
+import org.springframework.cache.interceptor.CacheOperationInvoker;
+import org.springframework.lang.Nullable;
+
+/**
+ * Invoker for an AOP Alliance {@link MethodInvocation}, which
+ * can also invoke the method with different arguments.
+ */
+class MethodInvocationInvoker implements CacheOperationInvoker {
+
+    private final MethodInvocation invocation;
+
+    MethodInvocationInvoker(MethodInvocation invocation) {
+        this.invocation = invocation;
+    }
+
+    @Override
+    public Object invoke() {
+        try {
+            return invocation.proceed();
+        } catch (Throwable ex) {
+            throw new ThrowableWrapper(ex);
+        }
+    }
+
+    /**
+     * Return whether {@link #invokeWith(Object[])} may be called from several threads at once.
+     *
+     * @return true if the invocation can be cloned
+     */
+    public boolean canInvokeConcurrently() {
+        return invocation instanceof ProxyMethodInvocation;
+    }
+
+    /**
+     * Return the proxy the method was invoked on.
+     *
+     * @return the proxy, or null if the invocation does not expose it
+     */
+    @Nullable
+    public Object getProxy() {
+        return invocation instanceof ProxyMethodInvocation ? ((ProxyMethodInvocation) invocation).getProxy() : null;
+    }
+
+    /**
+     * Invoke the method with the given arguments. The invocation is cloned if
+     * possible, so this may be called many times and also from other threads.
+     *
+     * @param arguments arguments to invoke the method with
+     * @return result of the invocation
+     * @throws ThrowableWrapper if an error occurred while invoking the method
+     */
+    public Object invokeWith(Object[] arguments) {
+        try {
+            if (invocation instanceof ProxyMethodInvocation) {
+                return ((ProxyMethodInvocation) invocation).invocableClone(arguments).proceed();
+            }
+            System.arraycopy(arguments, 0, invocation.getArguments(), 0, arguments.length);
+            return invocation.proceed();
+        } catch (Throwable ex) {
+            throw new ThrowableWrapper(ex);
+        }
+    }
+}
@@ -0,0 +1,141 @@
+/*-
+ * #%L
+ * Collection Cacheable for Spring :: Starter
+ * %%
+ * Copyright (C) 2020 QAware GmbH
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+package de.qaware.tools.collectioncacheableforspring;
+
+import org.springframework.lang.Nullable;
+
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Collects ids requested concurrently into batches, which are loaded at once.
+ * There is no background thread: the first caller of a batch loads the whole
+ * batch, while the other callers wait for this load to complete. If no other
+ * batch is being loaded, the first caller loads its batch right away. Otherwise,
+ * it waits until the batch is full or its delay has passed, so that ids requested
+ * while the database is busy are collected into one batch.
+ */
+class MicroBatcher {
+
+    private final int maxBatchSize;
+
+    private final long maxDelayNanos;
+
+    @Nullable
+    private Batch currentBatch;
+
+    /**
+     * Number of batches which are closed, but not yet loaded.
+     */
+    private int pendingBatches;
+
+    MicroBatcher(int maxBatchSize, long maxDelayMillis) {
+        this.maxBatchSize = maxBatchSize;
+        this.maxDelayNanos = TimeUnit.MILLISECONDS.toNanos(maxDelayMillis);
+    }
+
+    /**
+     * Load the given id together with other concurrently requested ids.
+     *
+     * @param id     id to load
+     * @param loader loads a batch of ids, returning the found values by id
+     * @return the value loaded for the id, or null if it was not found
+     */
+    @Nullable
+    Object load(Object id, Function<Collection<Object>, Map<Object, Object>> loader) {
+        Batch batch;
+        boolean isFirst = false;
+        synchronized (this) {
+            if (currentBatch == null) {
+                currentBatch = new Batch();
+                isFirst = true;
+            }
+            batch = currentBatch;
+            batch.ids.add(id);
+            if (batch.ids.size() >= maxBatchSize || isFirst && pendingBatches == 0) {
+                closeCurrentBatch();
+            }
+        }
+        if (isFirst) {
+            awaitFull(batch);
+            synchronized (this) {
+                if (currentBatch == batch) {
+                    closeCurrentBatch();
+                }
+            }
+            try {
+                batch.result.complete(loader.apply(batch.ids));
+            } catch (RuntimeException | Error ex) {
+                batch.result.completeExceptionally(ex);
+            } finally {
+                synchronized (this) {
+                    pendingBatches--;
+                }
+            }
+        }
+        return join(batch.result).get(id);
+    }
+
+    private void closeCurrentBatch() {
+        Batch batch = Objects.requireNonNull(currentBatch);
+        currentBatch = null;
+        pendingBatches++;
+        batch.full.countDown();
+    }
+
+    private void awaitFull(Batch batch) {
+        try {
+            batch.full.await(maxDelayNanos, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException ex) {
+            // load the batch collected so far right away
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static Map<Object, Object> join(CompletableFuture<Map<Object, Object>> result) {
+        try {
+            return result.join();
+        } catch (CompletionException ex) {
+            Throwable cause = ex.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw ex;
+        }
+    }
+
+    private static class Batch {
+        private final Set<Object> ids = new LinkedHashSet<>();
+        private final CountDownLatch full = new CountDownLatch(1);
+        private final CompletableFuture<Map<Object, Object>> result = new CompletableFuture<>();
+    }
+}
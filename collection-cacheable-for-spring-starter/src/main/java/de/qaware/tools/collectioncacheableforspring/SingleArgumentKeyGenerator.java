@@ -0,0 +1,139 @@
+/*-
+ * #%L
+ * Collection Cacheable for Spring :: Starter
+ * %%
+ * Copyright (C) 2020 QAware GmbH
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+package de.qaware.tools.collectioncacheableforspring;
+
+import org.springframework.cache.interceptor.CacheOperation;
+import org.springframework.cache.interceptor.KeyGenerator;
+import org.springframework.cache.interceptor.SimpleKeyGenerator;
+import org.springframework.core.DefaultParameterNameDiscoverer;
+import org.springframework.core.ParameterNameDiscoverer;
+import org.springframework.expression.EvaluationContext;
+import org.springframework.expression.EvaluationException;
+import org.springframework.expression.Expression;
+import org.springframework.expression.spel.SpelCompilerMode;
+import org.springframework.expression.spel.SpelEvaluationException;
+import org.springframework.expression.spel.SpelMessage;
+import org.springframework.expression.spel.SpelParserConfiguration;
+import org.springframework.expression.spel.standard.SpelExpressionParser;
+import org.springframework.expression.spel.support.SimpleEvaluationContext;
+import org.springframework.lang.Nullable;
+import org.springframework.util.StringUtils;
+
+import java.lang.reflect.Method;
+import java.util.function.Supplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Generates the cache key of a single id without setting up a SpEL evaluation context per id,
+ * if the key of the operation allows it:
+ * <ul>
+ * <li>Without key expression and with the {@link SimpleKeyGenerator}, the key of a non-null,
+ * non-array id is the id itself.</li>
+ * <li>A key expression referring to the argument, like {@code #p0}, {@code #a0} or the parameter name,
+ * optionally followed by properties like {@code #p0.id}, is evaluated on the id with a compiled
+ * expression.</li>
+ * </ul>
+ * Any other key is left to the regular SpEL evaluation, see {@link #create}.
+ */
+final class SingleArgumentKeyGenerator {
+
+    private static final Pattern ARGUMENT_EXPRESSION = Pattern.compile(
+            "#(root\\.args\\[0]|[\\w$]+)((?:\\.[A-Za-z_$][\\w$]*)*)");
+    private static final ParameterNameDiscoverer PARAMETER_NAME_DISCOVERER = new DefaultParameterNameDiscoverer();
+    private static final EvaluationContext EVALUATION_CONTEXT = SimpleEvaluationContext.forReadOnlyDataBinding().build();
+
+    @Nullable
+    private final Expression propertyExpression;
+    private volatile boolean propertyExpressionFailed;
+
+    private SingleArgumentKeyGenerator(@Nullable Expression propertyExpression) {
+        this.propertyExpression = propertyExpression;
+    }
+
+    /**
+     * Create a key generator for the given operation.
+     *
+     * @param operation    cache operation
+     * @param targetMethod method invoked with a single id when generating keys
+     * @param keyGenerator key generator used without key expression
+     * @return key generator, or null if the key must be generated by regular SpEL evaluation
+     */
+    @Nullable
+    static SingleArgumentKeyGenerator create(CacheOperation operation, Method targetMethod, Supplier<KeyGenerator> keyGenerator) {
+        String key = operation.getKey().trim();
+        if (key.isEmpty()) {
+            return keyGenerator.get().getClass() == SimpleKeyGenerator.class ? new SingleArgumentKeyGenerator(null) : null;
+        }
+        Matcher matcher = ARGUMENT_EXPRESSION.matcher(key);
+        if (!matcher.matches() || !isArgumentReference(matcher.group(1), targetMethod)) {
+            return null;
+        }
+        String properties = matcher.group(2);
+        if (properties.isEmpty()) {
+            return new SingleArgumentKeyGenerator(null);
+        }
+        SpelExpressionParser parser = new SpelExpressionParser(
+                new SpelParserConfiguration(SpelCompilerMode.MIXED, targetMethod.getDeclaringClass().getClassLoader()));
+        return new SingleArgumentKeyGenerator(parser.parseExpression(properties.substring(1)));
+    }
+
+    private static boolean isArgumentReference(String variable, Method targetMethod) {
+        if ("root".equals(variable) || "this".equals(variable) || "result".equals(variable)) {
+            return false;
+        }
+        if ("p0".equals(variable) || "a0".equals(variable) || "root.args[0]".equals(variable)) {
+            return true;
+        }
+        String[] parameterNames = PARAMETER_NAME_DISCOVERER.getParameterNames(targetMethod);
+        return parameterNames != null && parameterNames.length == 1 && parameterNames[0].equals(variable);
+    }
+
+    /**
+     * Generate the key of the given id.
+     *
+     * @param id single id
+     * @return key, or null if the key must be generated by regular SpEL evaluation
+     */
+    @Nullable
+    Object generate(@Nullable Object id) {
+        if (id == null) {
+            return null;
+        }
+        if (propertyExpression == null) {
+            return id.getClass().isArray() ? null : id;
+        }
+        if (propertyExpressionFailed) {
+            return null;
+        }
+        try {
+            return propertyExpression.getValue(EVALUATION_CONTEXT, id);
+        } catch (EvaluationException e) {
+            // let the regular evaluation decide, it may access more than properties, but only stop
+            // evaluating the expression for all ids if a property is not readable at all
+            if (e instanceof SpelEvaluationException
+                    && ((SpelEvaluationException) e).getMessageCode() == SpelMessage.PROPERTY_OR_FIELD_NOT_READABLE) {
+                propertyExpressionFailed = true;
+            }
+            return null;
+        }
+    }
+}
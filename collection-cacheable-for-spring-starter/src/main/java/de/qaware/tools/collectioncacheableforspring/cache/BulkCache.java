@@ -0,0 +1,64 @@
+/*-
+ * #%L
+ * Collection Cacheable for Spring :: Starter
+ * %%
+ * Copyright (C) 2020 QAware GmbH
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+package de.qaware.tools.collectioncacheableforspring.cache;
+
+import org.springframework.cache.Cache;
+
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * Optional capability of a {@link Cache} to look up and store many keys in one call.
+ * If a cache resolved for a {@code @CollectionCacheable} operation implements
+ * this interface, it is used instead of calling {@link Cache#get(Object)} or
+ * {@link Cache#put(Object, Object)} once per key.
+ */
+public interface BulkCache extends Cache {
+
+    /**
+     * Look up all given keys at once.
+     *
+     * @param keys keys to look up
+     * @return map containing only the keys present in this cache, mapped to their
+     * value, which is {@code null} if an explicit null was put into the cache
+     */
+    Map<Object, Object> getAll(Collection<?> keys);
+
+    /**
+     * Associate all given values with their keys in this cache.
+     *
+     * @param entries keys mapped to their value, which may be {@code null}
+     *                when an explicit null should be put into the cache
+     * @see Cache#put(Object, Object)
+     */
+    void putAll(Map<Object, Object> entries);
+
+    /**
+     * Remove the entries of all given keys from this cache. The default
+     * implementation evicts the keys one after the other.
+     *
+     * @param keys keys to evict
+     * @see Cache#evict(Object)
+     */
+    default void evictAll(Collection<?> keys) {
+        keys.forEach(this::evict);
+    }
+}
@@ -0,0 +1,48 @@
+/*-
+ * #%L
+ * Collection Cacheable for Spring :: Starter
+ * %%
+ * Copyright (C) 2020 QAware GmbH
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+package de.qaware.tools.collectioncacheableforspring.cache;
+
+import org.springframework.cache.Cache;
+import org.springframework.core.Ordered;
+
+/**
+ * Adapter turning caches of a specific implementation, which are
+ * resolved for a {@code @CollectionCacheable} operation, into a {@link BulkCache}.
+ */
+public interface BulkCacheAdapter extends Ordered {
+
+    /**
+     * Check if given cache can be adapted.
+     *
+     * @param cache cache to be adapted
+     * @return true if cache can be adapted, false otherwise
+     */
+    boolean canAdapt(Cache cache);
+
+    /**
+     * Create a bulk cache as given to {@link #canAdapt}, which
+     * operates on the same underlying storage as the given cache.
+     *
+     * @param cache cache to be adapted
+     * @return bulk cache
+     */
+    BulkCache adapt(Cache cache);
+}
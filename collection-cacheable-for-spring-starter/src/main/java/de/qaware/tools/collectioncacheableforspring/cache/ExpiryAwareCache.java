@@ -0,0 +1,54 @@
+/*-
+ * #%L
+ * Collection Cacheable for Spring :: Starter
+ * %%
+ * Copyright (C) 2020 QAware GmbH
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+package de.qaware.tools.collectioncacheableforspring.cache;
+
+import org.springframework.cache.Cache;
+
+import java.time.Duration;
+import java.util.Collection;
+
+/**
+ * Optional capability of a {@link Cache} to tell how old its entries are and
+ * when they expire. If a cache resolved for a {@code @CollectionCacheable}
+ * operation with {@code refreshAheadMillis} or {@code staleAfterMillis}
+ * implements this interface, hits which are about to expire or stale are
+ * reloaded in the background.
+ */
+public interface ExpiryAwareCache extends Cache {
+
+    /**
+     * Find the keys whose entries expire within the given duration.
+     *
+     * @param keys     keys to check, keys not present in this cache are ignored
+     * @param duration duration from now
+     * @return keys of the entries present in this cache which expire within the duration
+     */
+    Collection<Object> getKeysExpiringWithin(Collection<?> keys, Duration duration);
+
+    /**
+     * Find the keys whose entries have been written longer ago than the given age.
+     *
+     * @param keys keys to check, keys not present in this cache are ignored
+     * @param age  age of the entries
+     * @return keys of the entries present in this cache which are older than the age
+     */
+    Collection<Object> getKeysOlderThan(Collection<?> keys, Duration age);
+}
@@ -0,0 +1,46 @@
+/*-
+ * #%L
+ * Collection Cacheable for Spring :: Starter
+ * %%
+ * Copyright (C) 2020 QAware GmbH
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+package de.qaware.tools.collectioncacheableforspring.cache;
+
+import org.springframework.cache.Cache;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Optional capability of a {@link Cache} to store entries with their own time to live.
+ * If a cache resolved for a {@code @CollectionCacheable} operation with
+ * {@code nullTtlMillis} implements this interface, explicit null entries are
+ * stored with that time to live instead of the one configured for the cache.
+ */
+public interface TimeToLiveCache extends Cache {
+
+    /**
+     * Associate all given values with their keys in this cache,
+     * expiring after the given time to live.
+     *
+     * @param entries    keys mapped to their value, which may be {@code null}
+     *                   when an explicit null should be put into the cache
+     * @param timeToLive time to live of the entries
+     * @see Cache#put(Object, Object)
+     */
+    void putAll(Map<Object, Object> entries, Duration timeToLive);
+}
@@ -0,0 +1,137 @@
+/*-
+ * #%L
+ * Collection Cacheable for Spring :: Starter
+ * %%
+ * Copyright (C) 2020 QAware GmbH
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+package de.qaware.tools.collectioncacheableforspring.cache.caffeine;
+
+import com.github.benmanes.caffeine.cache.Policy;
+import de.qaware.tools.collectioncacheableforspring.cache.BulkCache;
+import de.qaware.tools.collectioncacheableforspring.cache.ExpiryAwareCache;
+import de.qaware.tools.collectioncacheableforspring.cache.TimeToLiveCache;
+import org.springframework.cache.caffeine.CaffeineCache;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link CaffeineCache} which looks up and stores many keys in one pass
+ * over the native Caffeine cache, without allocating a
+ * {@link org.springframework.cache.Cache.ValueWrapper} per key.
+ * The expiry of entries is taken from the expiration policy of the
+ * native cache, if any, and their age is known if entries expire
+ * after write. Entries can only be put with their own time to live
+ * if the native cache has a variable expiration policy.
+ */
+public class CaffeineBulkCache extends CaffeineCache implements BulkCache, ExpiryAwareCache, TimeToLiveCache {
+
+    public CaffeineBulkCache(String name, com.github.benmanes.caffeine.cache.Cache<Object, Object> cache, boolean allowNullValues) {
+        super(name, cache, allowNullValues);
+    }
+
+    @Override
+    public Map<Object, Object> getAll(Collection<?> keys) {
+        Map<Object, Object> storeValues = getNativeCache().getAllPresent(keys);
+        if (!isAllowNullValues()) {
+            // store values are the values themselves
+            return storeValues;
+        }
+        Map<Object, Object> hits = new HashMap<>((int) (storeValues.size() / 0.75f) + 1);
+        storeValues.forEach((key, storeValue) -> hits.put(key, fromStoreValue(storeValue)));
+        return hits;
+    }
+
+    @Override
+    public void putAll(Map<Object, Object> entries) {
+        Map<Object, Object> storeValues = new HashMap<>((int) (entries.size() / 0.75f) + 1);
+        entries.forEach((key, value) -> storeValues.put(key, toStoreValue(value)));
+        getNativeCache().putAll(storeValues);
+    }
+
+    @Override
+    public void evictAll(Collection<?> keys) {
+        getNativeCache().invalidateAll(keys);
+    }
+
+    @Override
+    public void putAll(Map<Object, Object> entries, Duration timeToLive) {
+        Optional<Policy.VarExpiration<Object, Object>> varExpiration = getNativeCache().policy().expireVariably();
+        if (!varExpiration.isPresent()) {
+            // entries expire as configured for the native cache
+            putAll(entries);
+            return;
+        }
+        long timeToLiveNanos = timeToLive.toNanos();
+        entries.forEach((key, value) -> varExpiration.get().put(key, toStoreValue(value), timeToLiveNanos, TimeUnit.NANOSECONDS));
+    }
+
+    @Override
+    public Collection<Object> getKeysExpiringWithin(Collection<?> keys, Duration duration) {
+        Policy<Object, Object> policy = getNativeCache().policy();
+        Optional<Policy.VarExpiration<Object, Object>> varExpiration = policy.expireVariably();
+        Optional<Policy.Expiration<Object, Object>> expiration = policy.expireAfterWrite().isPresent() ?
+                policy.expireAfterWrite() : policy.expireAfterAccess();
+        if (!varExpiration.isPresent() && !expiration.isPresent()) {
+            return Collections.emptyList();
+        }
+        long thresholdNanos = duration.toNanos();
+        List<Object> expiringKeys = new ArrayList<>();
+        for (Object key : keys) {
+            OptionalLong remainingNanos = varExpiration.isPresent() ?
+                    varExpiration.get().getExpiresAfter(key, TimeUnit.NANOSECONDS) :
+                    remainingNanos(expiration.get(), key);
+            if (remainingNanos.isPresent() && remainingNanos.getAsLong() <= thresholdNanos) {
+                expiringKeys.add(key);
+            }
+        }
+        return expiringKeys;
+    }
+
+    @Override
+    public Collection<Object> getKeysOlderThan(Collection<?> keys, Duration age) {
+        Optional<Policy.Expiration<Object, Object>> expiration = getNativeCache().policy().expireAfterWrite();
+        if (!expiration.isPresent()) {
+            return Collections.emptyList();
+        }
+        long ageNanos = age.toNanos();
+        List<Object> olderKeys = new ArrayList<>();
+        for (Object key : keys) {
+            OptionalLong keyAgeNanos = expiration.get().ageOf(key, TimeUnit.NANOSECONDS);
+            if (keyAgeNanos.isPresent() && keyAgeNanos.getAsLong() > ageNanos) {
+                olderKeys.add(key);
+            }
+        }
+        return olderKeys;
+    }
+
+    private static OptionalLong remainingNanos(Policy.Expiration<Object, Object> expiration, Object key) {
+        OptionalLong ageNanos = expiration.ageOf(key, TimeUnit.NANOSECONDS);
+        if (!ageNanos.isPresent()) {
+            return ageNanos;
+        }
+        return OptionalLong.of(expiration.getExpiresAfter(TimeUnit.NANOSECONDS) - ageNanos.getAsLong());
+    }
+}
@@ -0,0 +1,52 @@
+/*-
+ * #%L
+ * Collection Cacheable for Spring :: Starter
+ * %%
+ * Copyright (C) 2020 QAware GmbH
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+package de.qaware.tools.collectioncacheableforspring.cache.caffeine;
+
+import de.qaware.tools.collectioncacheableforspring.cache.BulkCache;
+import de.qaware.tools.collectioncacheableforspring.cache.BulkCacheAdapter;
+import org.springframework.cache.Cache;
+import org.springframework.cache.caffeine.CaffeineCache;
+
+/**
+ * Bulk cache adapter for {@link CaffeineCache} itself, not its subclasses, for example
+ * as created by {@link org.springframework.cache.caffeine.CaffeineCacheManager}.
+ */
+public class CaffeineBulkCacheAdapter implements BulkCacheAdapter {
+
+    public static final int ORDER = 100;
+
+    @Override
+    public boolean canAdapt(Cache cache) {
+        // subclasses may decorate the per-key access, which the bulk cache would bypass
+        return cache.getClass() == CaffeineCache.class;
+    }
+
+    @Override
+    public BulkCache adapt(Cache cache) {
+        CaffeineCache caffeineCache = (CaffeineCache) cache;
+        return new CaffeineBulkCache(caffeineCache.getName(), caffeineCache.getNativeCache(), caffeineCache.isAllowNullValues());
+    }
+
+    @Override
+    public int getOrder() {
+        return ORDER;
+    }
+}
@@ -19,6 +19,7 @@
 package de.qaware.tools.collectioncacheableforspring.creator;
 
 import org.springframework.core.Ordered;
+import org.springframework.lang.Nullable;
 
 import java.util.Collection;
 
@@ -44,4 +45,26 @@ public interface CollectionCreator extends Ordered {
      * @return created collection
      */
     <T> Collection<T> create(Collection<T> collection);
+
+    /**
+     * View the argument of the method as collection of ids. Needs to be implemented
+     * together with {@link #toArgument} if the parameter type is not a {@link Collection}.
+     *
+     * @param argument argument passed to the method
+     * @return collection of ids, or null if the argument is not supported
+     */
+    @Nullable
+    default Collection<?> fromArgument(Object argument) {
+        return argument instanceof Collection ? (Collection<?>) argument : null;
+    }
+
+    /**
+     * Convert a collection returned by {@link #create} to the argument passed to the method.
+     *
+     * @param collection created collection
+     * @return argument for the method
+     */
+    default Object toArgument(Collection<?> collection) {
+        return collection;
+    }
 }
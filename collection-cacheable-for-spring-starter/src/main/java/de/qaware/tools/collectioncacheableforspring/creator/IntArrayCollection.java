@@ -0,0 +1,71 @@
+/*-
+ * #%L
+ * Collection Cacheable for Spring :: Starter
+ * %%
+ * Copyright (C) 2020 QAware GmbH
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+package de.qaware.tools.collectioncacheableforspring.creator;
+
+import java.util.AbstractList;
+import java.util.Collection;
+import java.util.RandomAccess;
+
+/**
+ * Fixed-size list of ids backed by a {@code int[]}, which is
+ * passed to the method without copying.
+ */
+final class IntArrayCollection extends AbstractList<Integer> implements RandomAccess {
+
+    private final int[] ids;
+
+    IntArrayCollection(int[] ids) {
+        this.ids = ids;
+    }
+
+    static IntArrayCollection copyOf(Collection<?> ids) {
+        if (ids instanceof IntArrayCollection) {
+            return new IntArrayCollection(((IntArrayCollection) ids).ids.clone());
+        }
+        int[] array = new int[ids.size()];
+        int i = 0;
+        for (Object id : ids) {
+            array[i++] = (Integer) id;
+        }
+        return new IntArrayCollection(array);
+    }
+
+    int[] getIds() {
+        return ids;
+    }
+
+    @Override
+    public Integer get(int index) {
+        return ids[index];
+    }
+
+    @Override
+    public Integer set(int index, Integer id) {
+        int previous = ids[index];
+        ids[index] = id;
+        return previous;
+    }
+
+    @Override
+    public int size() {
+        return ids.length;
+    }
+}
@@ -0,0 +1,62 @@
+/*-
+ * #%L
+ * Collection Cacheable for Spring :: Starter
+ * %%
+ * Copyright (C) 2020 QAware GmbH
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+package de.qaware.tools.collectioncacheableforspring.creator;
+
+import org.springframework.lang.Nullable;
+
+import java.util.Collection;
+
+/**
+ * Collection creator for methods with a {@code int[]} parameter. The ids are only
+ * boxed when generating cache keys and building the result, the remaining ids are
+ * passed to the method as {@code int[]} again.
+ */
+public class IntArrayCollectionCreator implements CollectionCreator {
+
+    public static final int ORDER = 100;
+
+    @Override
+    public boolean canHandle(Class<?> cls) {
+        return cls.equals(int[].class);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> Collection<T> create(Collection<T> collection) {
+        return (Collection<T>) IntArrayCollection.copyOf(collection);
+    }
+
+    @Override
+    @Nullable
+    public Collection<?> fromArgument(Object argument) {
+        return argument instanceof int[] ? new IntArrayCollection((int[]) argument) : null;
+    }
+
+    @Override
+    public Object toArgument(Collection<?> collection) {
+        return ((IntArrayCollection) collection).getIds();
+    }
+
+    @Override
+    public int getOrder() {
+        return ORDER;
+    }
+}
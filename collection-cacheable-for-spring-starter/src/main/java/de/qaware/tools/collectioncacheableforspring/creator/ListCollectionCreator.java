@@ -0,0 +1,49 @@
+/*-
+ * #%L
+ * Collection Cacheable for Spring :: Starter
+ * %%
+ * Copyright (C) 2020 QAware GmbH
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+package de.qaware.tools.collectioncacheableforspring.creator;
+
+import java.util.ArrayList;
+import java.util.Collection;
+
+/**
+ * Creates an {@link ArrayList} for arguments of type {@link Collection} or {@link java.util.List}.
+ * Takes precedence over the {@link DefaultCollectionCreator}, which is still used
+ * for {@link java.util.LinkedList} and {@link java.util.Deque} arguments.
+ */
+public class ListCollectionCreator implements CollectionCreator {
+
+    public static final int ORDER = DefaultCollectionCreator.ORDER - 10;
+
+    @Override
+    public boolean canHandle(Class<?> cls) {
+        return cls.isAssignableFrom(ArrayList.class);
+    }
+
+    @Override
+    public <T> Collection<T> create(Collection<T> collection) {
+        return new ArrayList<>(collection);
+    }
+
+    @Override
+    public int getOrder() {
+        return ORDER;
+    }
+}
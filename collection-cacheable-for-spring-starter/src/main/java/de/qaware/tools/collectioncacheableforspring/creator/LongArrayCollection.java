@@ -0,0 +1,71 @@
+/*-
+ * #%L
+ * Collection Cacheable for Spring :: Starter
+ * %%
+ * Copyright (C) 2020 QAware GmbH
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+package de.qaware.tools.collectioncacheableforspring.creator;
+
+import java.util.AbstractList;
+import java.util.Collection;
+import java.util.RandomAccess;
+
+/**
+ * Fixed-size list of ids backed by a {@code long[]}, which is
+ * passed to the method without copying.
+ */
+final class LongArrayCollection extends AbstractList<Long> implements RandomAccess {
+
+    private final long[] ids;
+
+    LongArrayCollection(long[] ids) {
+        this.ids = ids;
+    }
+
+    static LongArrayCollection copyOf(Collection<?> ids) {
+        if (ids instanceof LongArrayCollection) {
+            return new LongArrayCollection(((LongArrayCollection) ids).ids.clone());
+        }
+        long[] array = new long[ids.size()];
+        int i = 0;
+        for (Object id : ids) {
+            array[i++] = (Long) id;
+        }
+        return new LongArrayCollection(array);
+    }
+
+    long[] getIds() {
+        return ids;
+    }
+
+    @Override
+    public Long get(int index) {
+        return ids[index];
+    }
+
+    @Override
+    public Long set(int index, Long id) {
+        long previous = ids[index];
+        ids[index] = id;
+        return previous;
+    }
+
+    @Override
+    public int size() {
+        return ids.length;
+    }
+}
@@ -0,0 +1,86 @@
+/*-
+ * #%L
+ * Collection Cacheable for Spring :: Starter
+ * %%
+ * Copyright (C) 2020 QAware GmbH
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+package de.qaware.tools.collectioncacheableforspring.metrics;
+
+import de.qaware.tools.collectioncacheableforspring.CollectionCacheableOperation;
+
+import java.lang.reflect.Method;
+
+/**
+ * Records metrics of {@link de.qaware.tools.collectioncacheableforspring.CollectionCacheable}
+ * operations. Provide a bean implementing this interface to enable metrics.
+ *
+ * @see MicrometerCollectionCacheableMetrics
+ */
+public interface CollectionCacheableMetrics {
+
+    /**
+     * Metrics discarding everything, used if no other metrics are provided.
+     */
+    CollectionCacheableMetrics NOOP = (method, operation) -> OperationMetrics.NOOP;
+
+    /**
+     * Get the metrics of the given operation. Called once per method and operation.
+     *
+     * @param method    annotated method
+     * @param operation operation of the method
+     * @return operation metrics
+     */
+    OperationMetrics getOperationMetrics(Method method, CollectionCacheableOperation operation);
+
+    /**
+     * Metrics of a single operation.
+     */
+    interface OperationMetrics {
+
+        OperationMetrics NOOP = new OperationMetrics() {
+        };
+
+        /**
+         * Record the result of looking up the requested ids in the caches.
+         *
+         * @param requested number of requested ids
+         * @param hits      number of ids found in the caches with a non-null value
+         * @param nullHits  number of ids found in the caches with an explicit null value
+         * @param nanos     time spent looking up the caches
+         */
+        default void recordLookup(int requested, int hits, int nullHits, long nanos) {
+        }
+
+        /**
+         * Record an invocation of the method with the ids which have not been found in the caches.
+         *
+         * @param remaining number of ids passed to the method
+         * @param nanos     time spent in the method
+         */
+        default void recordInvocation(int remaining, long nanos) {
+        }
+
+        /**
+         * Record putting entries into the caches.
+         *
+         * @param entries number of entries put into the caches
+         * @param nanos   time spent writing to the caches
+         */
+        default void recordPut(int entries, long nanos) {
+        }
+    }
+}
@@ -0,0 +1,145 @@
+/*-
+ * #%L
+ * Collection Cacheable for Spring :: Starter
+ * %%
+ * Copyright (C) 2020 QAware GmbH
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+package de.qaware.tools.collectioncacheableforspring.metrics;
+
+import de.qaware.tools.collectioncacheableforspring.CollectionCacheableOperation;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.util.StringUtils;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Records metrics of {@link de.qaware.tools.collectioncacheableforspring.CollectionCacheable}
+ * operations with Micrometer. All meters are tagged with the {@code cache} names and the
+ * {@code operation}, which is the annotated method as {@code SimpleClassName.methodName}.
+ * Operations resolving their caches with a cache resolver are tagged with the bean name of
+ * the resolver instead, as their caches are only known per invocation.
+ */
+public class MicrometerCollectionCacheableMetrics implements CollectionCacheableMetrics {
+
+    public static final String METRIC_PREFIX = "collection.cacheable.";
+
+    /**
+     * The {@code cache} tag of operations without cache names and without a cache resolver bean name.
+     */
+    public static final String RESOLVED_CACHE_TAG = "resolved";
+
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * Create metrics for the given registry.
+     *
+     * @param meterRegistry registry to register the meters at
+     */
+    public MicrometerCollectionCacheableMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public OperationMetrics getOperationMetrics(Method method, CollectionCacheableOperation operation) {
+        Tags tags = Tags.of(
+                "cache", getCacheTag(operation),
+                "operation", method.getDeclaringClass().getSimpleName() + "." + method.getName()
+        );
+        return new MicrometerOperationMetrics(meterRegistry, tags);
+    }
+
+    private static String getCacheTag(CollectionCacheableOperation operation) {
+        if (!operation.getCacheNames().isEmpty()) {
+            return String.join(",", operation.getCacheNames());
+        }
+        return StringUtils.hasText(operation.getCacheResolver()) ? operation.getCacheResolver() : RESOLVED_CACHE_TAG;
+    }
+
+    private static class MicrometerOperationMetrics implements OperationMetrics {
+
+        private final Counter requestedIds;
+        private final Counter hitIds;
+        private final Counter nullHitIds;
+        private final Counter missedIds;
+        private final DistributionSummary requestedSize;
+        private final DistributionSummary remainingSize;
+        private final DistributionSummary putSize;
+        private final Timer lookupTimer;
+        private final Timer invocationTimer;
+        private final Timer putTimer;
+
+        MicrometerOperationMetrics(MeterRegistry registry, Tags tags) {
+            requestedIds = Counter.builder(METRIC_PREFIX + "ids.requested")
+                    .description("Number of ids requested from the operation")
+                    .tags(tags).register(registry);
+            hitIds = Counter.builder(METRIC_PREFIX + "ids.hit")
+                    .description("Number of ids found in the caches")
+                    .tags(tags).register(registry);
+            nullHitIds = Counter.builder(METRIC_PREFIX + "ids.null.hit")
+                    .description("Number of ids found in the caches as explicit null")
+                    .tags(tags).register(registry);
+            missedIds = Counter.builder(METRIC_PREFIX + "ids.miss")
+                    .description("Number of ids not found in the caches")
+                    .tags(tags).register(registry);
+            requestedSize = DistributionSummary.builder(METRIC_PREFIX + "requested.size")
+                    .description("Number of ids requested per invocation of the operation")
+                    .tags(tags).register(registry);
+            remainingSize = DistributionSummary.builder(METRIC_PREFIX + "remaining.size")
+                    .description("Number of ids passed to the method per invocation")
+                    .tags(tags).register(registry);
+            putSize = DistributionSummary.builder(METRIC_PREFIX + "put.size")
+                    .description("Number of entries put into the caches per invocation")
+                    .tags(tags).register(registry);
+            lookupTimer = phaseTimer(registry, tags, "lookup");
+            invocationTimer = phaseTimer(registry, tags, "invocation");
+            putTimer = phaseTimer(registry, tags, "put");
+        }
+
+        private static Timer phaseTimer(MeterRegistry registry, Tags tags, String phase) {
+            return Timer.builder(METRIC_PREFIX + "phase")
+                    .description("Time spent in the phases of the operation")
+                    .tags(tags).tag("phase", phase).register(registry);
+        }
+
+        @Override
+        public void recordLookup(int requested, int hits, int nullHits, long nanos) {
+            requestedIds.increment(requested);
+            hitIds.increment(hits);
+            nullHitIds.increment(nullHits);
+            missedIds.increment((double) requested - hits - nullHits);
+            requestedSize.record(requested);
+            lookupTimer.record(nanos, TimeUnit.NANOSECONDS);
+        }
+
+        @Override
+        public void recordInvocation(int remaining, long nanos) {
+            remainingSize.record(remaining);
+            invocationTimer.record(nanos, TimeUnit.NANOSECONDS);
+        }
+
+        @Override
+        public void recordPut(int entries, long nanos) {
+            putSize.record(entries);
+            putTimer.record(nanos, TimeUnit.NANOSECONDS);
+        }
+    }
+}
@@ -22,8 +22,12 @@ package de.qaware.tools.collectioncacheableforspring.returnvalue;
 
 import org.springframework.lang.Nullable;
 
-import java.lang.reflect.Proxy;
+import java.util.Collection;
 import java.util.Map;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+import java.util.function.Function;
 
 /**
  * Default return value converter for {@link Map}.
@@ -39,27 +43,176 @@ public class DefaultReturnValueConverter implements ReturnValueConverter {
 
     @Override
     public MapLikeReturnValue convert(Object invocationResult) {
-        return (MapLikeReturnValue) Proxy.newProxyInstance(
-                MapLikeReturnValue.class.getClassLoader(),
-                new Class<?>[]{Map.class, MapLikeReturnValue.class},
-                (proxy, method, args) -> method.invoke(invocationResult, args)
-        );
+        return new MapLikeMap(castToMap(invocationResult));
     }
 
     @Override
     public MapLikeReturnValue convert(@Nullable Object invocationResult, Map<Object, Object> cacheResult) {
         if (invocationResult instanceof Map) {
+            if (cacheResult.isEmpty()) {
+                // nothing to merge, so the invocation result is returned without copying
+                return new MapLikeMap(castToMap(invocationResult));
+            }
             cacheResult.putAll((Map<?, ?>) invocationResult);
         }
-        return (MapLikeReturnValue) Proxy.newProxyInstance(
-                MapLikeReturnValue.class.getClassLoader(),
-                new Class<?>[]{Map.class, MapLikeReturnValue.class},
-                (proxy, method, args) -> method.invoke(cacheResult, args)
-        );
+        return new MapLikeMap(cacheResult);
     }
 
     @Override
     public int getOrder() {
         return ORDER;
     }
+
+    @SuppressWarnings("unchecked")
+    private static Map<Object, Object> castToMap(Object invocationResult) {
+        if (invocationResult instanceof Map) {
+            return (Map<Object, Object>) invocationResult;
+        }
+        throw new IllegalStateException("Expecting invocation result to implement Map, but is " + invocationResult.getClass());
+    }
+
+    /**
+     * Map delegating all calls to the wrapped map, which is
+     * returned to the caller of the method without copying.
+     */
+    private static class MapLikeMap implements Map<Object, Object>, MapLikeReturnValue {
+
+        private final Map<Object, Object> delegate;
+
+        public MapLikeMap(Map<Object, Object> delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        public void forEach(BiConsumer action) {
+            // raw type implements both Map#forEach and MapLikeReturnValue#forEach
+            delegate.forEach(action);
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            return delegate.containsKey(key);
+        }
+
+        @Override
+        public int size() {
+            return delegate.size();
+        }
+
+        @Override
+        public boolean isEmpty() {
+            return delegate.isEmpty();
+        }
+
+        @Override
+        public boolean containsValue(Object value) {
+            return delegate.containsValue(value);
+        }
+
+        @Override
+        public Object get(Object key) {
+            return delegate.get(key);
+        }
+
+        @Override
+        public Object put(Object key, Object value) {
+            return delegate.put(key, value);
+        }
+
+        @Override
+        public Object remove(Object key) {
+            return delegate.remove(key);
+        }
+
+        @Override
+        public void putAll(Map<?, ?> m) {
+            delegate.putAll(m);
+        }
+
+        @Override
+        public void clear() {
+            delegate.clear();
+        }
+
+        @Override
+        public Set<Object> keySet() {
+            return delegate.keySet();
+        }
+
+        @Override
+        public Collection<Object> values() {
+            return delegate.values();
+        }
+
+        @Override
+        public Set<Entry<Object, Object>> entrySet() {
+            return delegate.entrySet();
+        }
+
+        @Override
+        public Object getOrDefault(Object key, Object defaultValue) {
+            return delegate.getOrDefault(key, defaultValue);
+        }
+
+        @Override
+        public void replaceAll(BiFunction<? super Object, ? super Object, ?> function) {
+            delegate.replaceAll(function);
+        }
+
+        @Override
+        public Object putIfAbsent(Object key, Object value) {
+            return delegate.putIfAbsent(key, value);
+        }
+
+        @Override
+        public boolean remove(Object key, Object value) {
+            return delegate.remove(key, value);
+        }
+
+        @Override
+        public boolean replace(Object key, Object oldValue, Object newValue) {
+            return delegate.replace(key, oldValue, newValue);
+        }
+
+        @Override
+        public Object replace(Object key, Object value) {
+            return delegate.replace(key, value);
+        }
+
+        @Override
+        public Object computeIfAbsent(Object key, Function<? super Object, ?> mappingFunction) {
+            return delegate.computeIfAbsent(key, mappingFunction);
+        }
+
+        @Override
+        public Object computeIfPresent(Object key, BiFunction<? super Object, ? super Object, ?> remappingFunction) {
+            return delegate.computeIfPresent(key, remappingFunction);
+        }
+
+        @Override
+        public Object compute(Object key, BiFunction<? super Object, ? super Object, ?> remappingFunction) {
+            return delegate.compute(key, remappingFunction);
+        }
+
+        @Override
+        public Object merge(Object key, Object value, BiFunction<? super Object, ? super Object, ?> remappingFunction) {
+            return delegate.merge(key, value, remappingFunction);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o == this || delegate.equals(o);
+        }
+
+        @Override
+        public int hashCode() {
+            return delegate.hashCode();
+        }
+
+        @Override
+        public String toString() {
+            return delegate.toString();
+        }
+    }
 }
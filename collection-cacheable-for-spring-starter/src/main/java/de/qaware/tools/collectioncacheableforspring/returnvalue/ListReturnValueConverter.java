@@ -22,13 +22,19 @@ package de.qaware.tools.collectioncacheableforspring.returnvalue;
 
 import org.springframework.lang.Nullable;
 
+import java.io.Serializable;
+import java.util.AbstractList;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.RandomAccess;
+import java.util.Set;
 import java.util.function.BiConsumer;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
+import java.util.function.Consumer;
+import java.util.function.UnaryOperator;
 
 /**
  * Return value converter for {@link List lists}
@@ -45,20 +51,20 @@ public class ListReturnValueConverter implements ReturnValueConverter {
 
     @Override
     public MapLikeReturnValue convert(Object invocationResult) {
-        if (invocationResult instanceof List) {
-            return new MapLikeArrayList((List<?>) invocationResult);
-        }
-        throw new IllegalStateException("Expecting invocation result to implement List, but is " + invocationResult.getClass());
+        // only read while putting the result into the cache, so the invocation result is wrapped without copying
+        return new MapLikeList(castToList(invocationResult));
     }
 
     @Override
     public MapLikeReturnValue convert(@Nullable Object invocationResult, Map<Object, Object> cacheResult) {
-        if (invocationResult instanceof List) {
-            return Stream.concat(((List<?>) invocationResult).stream(), cacheResult.values().stream())
-                    .collect(Collectors.toCollection(MapLikeArrayList::new));
-        } else {
-            return new MapLikeArrayList(cacheResult.values());
+        if (!(invocationResult instanceof List)) {
+            return new MapLikeList(new ArrayList<>(cacheResult.values()));
         }
+        List<?> invocationList = (List<?>) invocationResult;
+        List<Object> items = new ArrayList<>(invocationList.size() + cacheResult.size());
+        items.addAll(invocationList);
+        items.addAll(cacheResult.values());
+        return new MapLikeList(items);
     }
 
     @Override
@@ -66,24 +72,127 @@ public class ListReturnValueConverter implements ReturnValueConverter {
         return ORDER;
     }
 
-    private static class MapLikeArrayList extends ArrayList<Object> implements MapLikeReturnValue {
-
-        public MapLikeArrayList() {
-            super();
+    @SuppressWarnings("unchecked")
+    private static List<Object> castToList(Object invocationResult) {
+        if (invocationResult instanceof List) {
+            return (List<Object>) invocationResult;
         }
+        throw new IllegalStateException("Expecting invocation result to implement List, but is " + invocationResult.getClass());
+    }
 
-        public MapLikeArrayList(Collection<?> c) {
-            super(c);
+    /**
+     * List of items implementing {@link HasCacheKey}, backed by the wrapped list. The cache keys
+     * are indexed on the first {@link #containsKey(Object)} call, and indexed again if the list was
+     * written to. Sub lists write through the methods of this list, so they are tracked as well.
+     */
+    private static class MapLikeList extends AbstractList<Object> implements MapLikeReturnValue, RandomAccess, Serializable {
+
+        private final List<Object> items;
+        @Nullable
+        private transient Set<Object> keyIndex;
+        private transient int keyIndexWriteCount;
+        /**
+         * Counts all writes, unlike {@link #modCount} also those replacing items.
+         */
+        private transient int writeCount;
+
+        MapLikeList(List<Object> items) {
+            this.items = items;
         }
 
         @Override
         public void forEach(BiConsumer<Object, Object> action) {
-            forEach(item -> action.accept(extractCacheKey(item), item));
+            items.forEach(item -> action.accept(extractCacheKey(item), item));
         }
 
         @Override
         public boolean containsKey(Object key) {
-            return stream().anyMatch(item -> extractCacheKey(item).equals(key));
+            if (keyIndex == null || keyIndexWriteCount != writeCount) {
+                Set<Object> index = new HashSet<>((int) (size() / 0.75f) + 1);
+                for (Object item : items) {
+                    index.add(extractCacheKey(item));
+                }
+                keyIndex = index;
+                keyIndexWriteCount = writeCount;
+            }
+            return keyIndex.contains(key);
+        }
+
+        @Override
+        public Object get(int index) {
+            return items.get(index);
+        }
+
+        @Override
+        public int size() {
+            return items.size();
+        }
+
+        @Override
+        public Object set(int index, Object element) {
+            writeCount++;
+            return items.set(index, element);
+        }
+
+        @Override
+        public void add(int index, Object element) {
+            modCount++;
+            writeCount++;
+            items.add(index, element);
+        }
+
+        @Override
+        public boolean addAll(Collection<?> c) {
+            return addAll(size(), c);
+        }
+
+        @Override
+        public boolean addAll(int index, Collection<?> c) {
+            modCount++;
+            writeCount++;
+            return items.addAll(index, c);
+        }
+
+        @Override
+        public Object remove(int index) {
+            modCount++;
+            writeCount++;
+            return items.remove(index);
+        }
+
+        @Override
+        protected void removeRange(int fromIndex, int toIndex) {
+            modCount++;
+            writeCount++;
+            items.subList(fromIndex, toIndex).clear();
+        }
+
+        @Override
+        public void replaceAll(UnaryOperator<Object> operator) {
+            writeCount++;
+            items.replaceAll(operator);
+        }
+
+        @Override
+        public void sort(@Nullable Comparator<? super Object> c) {
+            modCount++;
+            writeCount++;
+            items.sort(c);
+        }
+
+        @Override
+        public void forEach(Consumer<? super Object> action) {
+            items.forEach(action);
+        }
+
+        @Override
+        public Object[] toArray() {
+            return items.toArray();
+        }
+
+        @Override
+        public <T> T[] toArray(T[] a) {
+            return items.toArray(a);
         }
 
         private Object extractCacheKey(Object item) {
@@ -0,0 +1,50 @@
+package de.qaware.tools.collectioncacheableforspring;
+
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class AbsentKeysFilterTest {
+
+    private final AtomicLong nanos = new AtomicLong();
+
+    private final AbsentKeysFilter sut = new AbsentKeysFilter(1000, 0.01, 60_000, nanos::get);
+
+    @Test
+    public void containsAddedKeys() {
+        IntStream.range(0, 1000).forEach(i -> sut.add("key-" + i));
+
+        assertThat(IntStream.range(0, 1000).allMatch(i -> sut.mightContain("key-" + i))).isTrue();
+    }
+
+    @Test
+    public void falsePositiveRate() {
+        IntStream.range(0, 1000).forEach(i -> sut.add("key-" + i));
+
+        long falsePositives = IntStream.range(0, 10_000)
+                .filter(i -> sut.mightContain("other-key-" + i))
+                .count();
+
+        assertThat(falsePositives).isLessThan(300);
+    }
+
+    @Test
+    public void forgetsKeysAfterRotations() {
+        sut.add("key-1");
+
+        nanos.addAndGet(TimeUnit.SECONDS.toNanos(60));
+        assertThat(sut.mightContain("key-1")).isTrue();
+        sut.add("key-2");
+
+        nanos.addAndGet(TimeUnit.SECONDS.toNanos(60));
+        assertThat(sut.mightContain("key-1")).isFalse();
+        assertThat(sut.mightContain("key-2")).isTrue();
+
+        nanos.addAndGet(TimeUnit.SECONDS.toNanos(120));
+        assertThat(sut.mightContain("key-2")).isFalse();
+    }
+}
@@ -0,0 +1,164 @@
+package de.qaware.tools.collectioncacheableforspring;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import de.qaware.tools.collectioncacheableforspring.cache.BulkCache;
+import de.qaware.tools.collectioncacheableforspring.cache.ExpiryAwareCache;
+import de.qaware.tools.collectioncacheableforspring.cache.TimeToLiveCache;
+import de.qaware.tools.collectioncacheableforspring.cache.caffeine.CaffeineBulkCacheAdapter;
+import org.junit.Test;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.entry;
+
+public class CaffeineBulkCacheTest {
+
+    private final CaffeineBulkCacheAdapter sut = new CaffeineBulkCacheAdapter();
+
+    @Test
+    public void canAdapt() {
+        assertThat(sut.canAdapt(new CaffeineCache("cache", Caffeine.newBuilder().build()))).isTrue();
+        assertThat(sut.canAdapt(new ConcurrentMapCache("cache"))).isFalse();
+        assertThat(sut.canAdapt(new CaffeineCache("cache", Caffeine.newBuilder().build()) {
+        })).isFalse();
+    }
+
+    @Test
+    public void adaptSharesNativeCache() {
+        CaffeineCache caffeineCache = new CaffeineCache("cache", Caffeine.newBuilder().build());
+        caffeineCache.put("key-1", "value-1");
+        caffeineCache.put("key-2", null);
+
+        BulkCache bulkCache = sut.adapt(caffeineCache);
+
+        assertThat(bulkCache.getName()).isEqualTo("cache");
+        assertThat(bulkCache.getAll(Arrays.asList("key-1", "key-2", "key-3")))
+                .containsOnly(entry("key-1", "value-1"), entry("key-2", null));
+
+        Map<Object, Object> entries = new HashMap<>();
+        entries.put("key-3", "value-3");
+        entries.put("key-4", null);
+        bulkCache.putAll(entries);
+
+        assertThat(caffeineCache.get("key-3", String.class)).isEqualTo("value-3");
+        assertThat(caffeineCache.get("key-4")).isNotNull();
+        assertThat(caffeineCache.get("key-4").get()).isNull();
+    }
+
+    @Test
+    public void getKeysExpiringWithin() {
+        AtomicLong nanos = new AtomicLong();
+        CaffeineCache caffeineCache = new CaffeineCache("cache", Caffeine.newBuilder()
+                .expireAfterWrite(10, TimeUnit.MINUTES)
+                .ticker(nanos::get)
+                .build());
+        caffeineCache.put("key-1", "value-1");
+        nanos.addAndGet(TimeUnit.MINUTES.toNanos(5));
+        caffeineCache.put("key-2", "value-2");
+        nanos.addAndGet(TimeUnit.MINUTES.toNanos(4));
+
+        ExpiryAwareCache expiryAwareCache = (ExpiryAwareCache) sut.adapt(caffeineCache);
+
+        assertThat(expiryAwareCache.getKeysExpiringWithin(Arrays.asList("key-1", "key-2", "key-3"), Duration.ofMinutes(2)))
+                .containsExactly("key-1");
+        assertThat(expiryAwareCache.getKeysExpiringWithin(Arrays.asList("key-1", "key-2", "key-3"), Duration.ofMinutes(6)))
+                .containsExactly("key-1", "key-2");
+    }
+
+    @Test
+    public void getKeysOlderThan() {
+        AtomicLong nanos = new AtomicLong();
+        CaffeineCache caffeineCache = new CaffeineCache("cache", Caffeine.newBuilder()
+                .expireAfterWrite(10, TimeUnit.MINUTES)
+                .ticker(nanos::get)
+                .build());
+        caffeineCache.put("key-1", "value-1");
+        nanos.addAndGet(TimeUnit.MINUTES.toNanos(5));
+        caffeineCache.put("key-2", "value-2");
+        nanos.addAndGet(TimeUnit.MINUTES.toNanos(1));
+
+        ExpiryAwareCache expiryAwareCache = (ExpiryAwareCache) sut.adapt(caffeineCache);
+
+        assertThat(expiryAwareCache.getKeysOlderThan(Arrays.asList("key-1", "key-2", "key-3"), Duration.ofMinutes(2)))
+                .containsExactly("key-1");
+        assertThat(expiryAwareCache.getKeysOlderThan(Arrays.asList("key-1", "key-2", "key-3"), Duration.ofSeconds(30)))
+                .containsExactly("key-1", "key-2");
+    }
+
+    @Test
+    public void putAllWithTimeToLive() {
+        AtomicLong nanos = new AtomicLong();
+        CaffeineCache caffeineCache = new CaffeineCache("cache", Caffeine.newBuilder()
+                .expireAfter(new FixedExpiry(TimeUnit.MINUTES.toNanos(10)))
+                .ticker(nanos::get)
+                .build());
+        caffeineCache.put("key-1", "value-1");
+
+        TimeToLiveCache timeToLiveCache = (TimeToLiveCache) sut.adapt(caffeineCache);
+        timeToLiveCache.putAll(Collections.singletonMap("key-2", null), Duration.ofMinutes(1));
+        assertThat(caffeineCache.get("key-2")).isNotNull();
+        nanos.addAndGet(TimeUnit.MINUTES.toNanos(2));
+
+        assertThat(caffeineCache.get("key-1", String.class)).isEqualTo("value-1");
+        assertThat(caffeineCache.get("key-2")).isNull();
+    }
+
+    @Test
+    public void putAllWithTimeToLiveWithoutVariableExpiry() {
+        CaffeineCache caffeineCache = new CaffeineCache("cache", Caffeine.newBuilder().build());
+
+        TimeToLiveCache timeToLiveCache = (TimeToLiveCache) sut.adapt(caffeineCache);
+        timeToLiveCache.putAll(Collections.singletonMap("key-1", "value-1"), Duration.ofMinutes(1));
+
+        assertThat(caffeineCache.get("key-1", String.class)).isEqualTo("value-1");
+    }
+
+    @Test
+    public void withoutExpiry() {
+        CaffeineCache caffeineCache = new CaffeineCache("cache", Caffeine.newBuilder().build());
+        caffeineCache.put("key-1", "value-1");
+
+        ExpiryAwareCache expiryAwareCache = (ExpiryAwareCache) sut.adapt(caffeineCache);
+
+        assertThat(expiryAwareCache.getKeysExpiringWithin(Arrays.asList("key-1"), Duration.ofDays(1))).isEmpty();
+        assertThat(expiryAwareCache.getKeysOlderThan(Arrays.asList("key-1"), Duration.ZERO)).isEmpty();
+    }
+
+    @Test
+    public void evictAll() {
+        CaffeineCache caffeineCache = new CaffeineCache("cache", Caffeine.newBuilder().build());
+        caffeineCache.put("key-1", "value-1");
+        caffeineCache.put("key-2", "value-2");
+
+        BulkCache bulkCache = sut.adapt(caffeineCache);
+        bulkCache.evictAll(Arrays.asList("key-1", "key-3"));
+
+        assertThat(caffeineCache.getNativeCache().asMap()).containsOnlyKeys("key-2");
+    }
+
+    @Test
+    public void adaptWithoutNullValues() {
+        CaffeineCache caffeineCache = new CaffeineCache("cache", Caffeine.newBuilder().build(), false);
+        caffeineCache.put("key-1", "value-1");
+
+        BulkCache bulkCache = sut.adapt(caffeineCache);
+
+        assertThat(bulkCache.getAll(Arrays.asList("key-1", "key-2")))
+                .containsOnly(entry("key-1", "value-1"));
+        Map<Object, Object> entries = new HashMap<>();
+        entries.put("key-2", null);
+        assertThatThrownBy(() -> bulkCache.putAll(entries))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+}
@@ -0,0 +1,154 @@
+package de.qaware.tools.collectioncacheableforspring;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static de.qaware.tools.collectioncacheableforspring.CollectionCacheableTestRepository.CACHE_NAME;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@RunWith(SpringRunner.class)
+@SpringBootTest
+public class CollectionCacheableBulkCacheIntTest {
+
+    private static final int NUMBER_OF_IDS = 50;
+    private static final long LATENCY_MILLIS = 2;
+
+    @Autowired
+    private CollectionCacheableTestRepository sut;
+
+    @MockBean
+    private CollectionCacheableTestDbRepository repository;
+
+    @MockBean
+    private CacheManager cacheManager;
+
+    @Test
+    public void findByIdsUsesOneGetPerKeyWithPlainCache() {
+        LatencyInjectingCache cache = new LatencyInjectingCache(CACHE_NAME, LATENCY_MILLIS);
+        when(cacheManager.getCache(CACHE_NAME)).thenReturn(cache);
+        Set<CollectionCacheableTestId> ids = fillCache(cache);
+
+        assertThat(sut.findByIds(ids)).hasSize(NUMBER_OF_IDS);
+
+        assertThat(cache.getGetCalls()).isEqualTo(NUMBER_OF_IDS);
+        verify(repository, never()).findById(any());
+    }
+
+    @Test
+    public void findByIdsUsesOneGetAllWithBulkCache() {
+        LatencyInjectingBulkCache cache = new LatencyInjectingBulkCache(CACHE_NAME, LATENCY_MILLIS);
+        when(cacheManager.getCache(CACHE_NAME)).thenReturn(cache);
+        Set<CollectionCacheableTestId> ids = fillCache(cache);
+
+        assertThat(sut.findByIds(ids)).hasSize(NUMBER_OF_IDS);
+
+        assertThat(cache.getGetAllCalls()).isEqualTo(1);
+        assertThat(cache.getGetCalls()).isZero();
+        verify(repository, never()).findById(any());
+    }
+
+    @Test
+    public void findByIdsWithPartialHitsInBulkCache() {
+        LatencyInjectingBulkCache cache = new LatencyInjectingBulkCache(CACHE_NAME, LATENCY_MILLIS);
+        when(cacheManager.getCache(CACHE_NAME)).thenReturn(cache);
+        Set<CollectionCacheableTestId> ids = fillCache(cache);
+        CollectionCacheableTestId uncachedId = new CollectionCacheableTestId("uncached");
+        when(repository.findById(uncachedId)).thenReturn(new CollectionCacheableTestValue("uncached"));
+        ids.add(uncachedId);
+
+        assertThat(sut.findByIds(ids)).hasSize(NUMBER_OF_IDS + 1);
+
+        assertThat(cache.getGetAllCalls()).isEqualTo(1);
+        verify(repository).findById(uncachedId);
+    }
+
+    @Test
+    public void findByIdsUsesOnePutPerKeyWithPlainCache() {
+        LatencyInjectingCache cache = new LatencyInjectingCache(CACHE_NAME, LATENCY_MILLIS);
+        when(cacheManager.getCache(CACHE_NAME)).thenReturn(cache);
+        Set<CollectionCacheableTestId> ids = uncachedIds();
+
+        assertThat(sut.findByIds(ids)).hasSize(NUMBER_OF_IDS);
+
+        assertThat(cache.getPutCalls()).isEqualTo(NUMBER_OF_IDS);
+    }
+
+    @Test
+    public void findByIdsUsesOnePutAllWithBulkCache() {
+        LatencyInjectingBulkCache cache = new LatencyInjectingBulkCache(CACHE_NAME, LATENCY_MILLIS);
+        when(cacheManager.getCache(CACHE_NAME)).thenReturn(cache);
+        Set<CollectionCacheableTestId> ids = uncachedIds();
+
+        assertThat(sut.findByIds(ids)).hasSize(NUMBER_OF_IDS);
+        assertThat(sut.findByIds(ids)).hasSize(NUMBER_OF_IDS);
+
+        assertThat(cache.getPutAllCalls()).isEqualTo(1);
+        assertThat(cache.getPutCalls()).isZero();
+        assertThat(cache.getGetAllCalls()).isEqualTo(2);
+        verify(repository, times(NUMBER_OF_IDS)).findById(any());
+    }
+
+    @Test
+    public void findByIdsWithPutNullUsesOnePutAllWithBulkCache() {
+        LatencyInjectingBulkCache cache = new LatencyInjectingBulkCache(CACHE_NAME, LATENCY_MILLIS);
+        when(cacheManager.getCache(CACHE_NAME)).thenReturn(cache);
+        Set<CollectionCacheableTestId> ids = uncachedIds();
+        CollectionCacheableTestId unknownId = new CollectionCacheableTestId("unknown");
+        ids.add(unknownId);
+
+        assertThat(sut.findByIdsWithPutNull(ids)).hasSize(NUMBER_OF_IDS);
+        assertThat(sut.findByIdsWithPutNull(ids)).hasSize(NUMBER_OF_IDS);
+
+        assertThat(cache.getPutAllCalls()).isEqualTo(1);
+        assertThat(cache.get(unknownId)).isNotNull();
+        verify(repository).findById(unknownId);
+    }
+
+    private Set<CollectionCacheableTestId> uncachedIds() {
+        Set<CollectionCacheableTestId> ids = new HashSet<>();
+        for (int i = 0; i < NUMBER_OF_IDS; i++) {
+            CollectionCacheableTestId id = new CollectionCacheableTestId("id-" + i);
+            when(repository.findById(id)).thenReturn(new CollectionCacheableTestValue("value-" + i));
+            ids.add(id);
+        }
+        return ids;
+    }
+
+    private static Set<CollectionCacheableTestId> fillCache(LatencyInjectingCache cache) {
+        Set<CollectionCacheableTestId> ids = new HashSet<>();
+        for (int i = 0; i < NUMBER_OF_IDS; i++) {
+            CollectionCacheableTestId id = new CollectionCacheableTestId("id-" + i);
+            cache.getNativeCache().put(id, new CollectionCacheableTestValue("value-" + i));
+            ids.add(id);
+        }
+        return ids;
+    }
+
+    @SpringBootConfiguration
+    @EnableCaching
+    @EnableAutoConfiguration
+    @Import({
+            CollectionCacheableTestRepository.class,
+            ArrayListCollectionCreator.class,
+    })
+    public static class TestConfig {
+
+    }
+}
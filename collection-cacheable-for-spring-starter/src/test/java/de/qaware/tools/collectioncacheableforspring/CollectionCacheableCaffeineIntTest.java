@@ -0,0 +1,193 @@
+package de.qaware.tools.collectioncacheableforspring;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.core.task.SyncTaskExecutor;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static de.qaware.tools.collectioncacheableforspring.CollectionCacheableTestRepository.CACHE_NAME;
+import static de.qaware.tools.collectioncacheableforspring.CollectionCacheableTestRepository.L2_NULL_TTL_CACHE_NAME;
+import static de.qaware.tools.collectioncacheableforspring.CollectionCacheableTestRepository.NULL_TTL_CACHE_NAME;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@RunWith(SpringRunner.class)
+@SpringBootTest
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+public class CollectionCacheableCaffeineIntTest {
+
+    private static final CollectionCacheableTestId SOME_KEY_1 = new CollectionCacheableTestId("some-key-1");
+    private static final CollectionCacheableTestValue SOME_VALUE_1 = new CollectionCacheableTestValue("some-value-1");
+    private static final CollectionCacheableTestId SOME_KEY_2 = new CollectionCacheableTestId("some-key-2");
+    private static final CollectionCacheableTestValue SOME_VALUE_2 = new CollectionCacheableTestValue("some-value-2");
+    private static final CollectionCacheableTestValue SOME_NEW_VALUE_1 = new CollectionCacheableTestValue("some-new-value-1");
+    private static final AtomicLong TICKER_NANOS = new AtomicLong();
+
+    @Autowired
+    private CollectionCacheableTestRepository sut;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @MockBean
+    private CollectionCacheableTestDbRepository repository;
+
+    @Test
+    public void findByIdsAfterOneFindById() {
+        when(repository.findById(SOME_KEY_1)).thenReturn(SOME_VALUE_1);
+        when(repository.findById(SOME_KEY_2)).thenReturn(SOME_VALUE_2);
+
+        assertThat(sut.findById(SOME_KEY_1)).isEqualTo(SOME_VALUE_1);
+        assertThat(sut.findByIds(new HashSet<>(Arrays.asList(SOME_KEY_1, SOME_KEY_2))))
+                .containsOnly(entry(SOME_KEY_1, SOME_VALUE_1), entry(SOME_KEY_2, SOME_VALUE_2));
+        assertThat(sut.findById(SOME_KEY_2)).isEqualTo(SOME_VALUE_2);
+
+        verify(repository).findById(SOME_KEY_1);
+        verify(repository).findById(SOME_KEY_2);
+    }
+
+    @Test
+    public void findByIdsWithPutNull() {
+        when(repository.findById(SOME_KEY_1)).thenReturn(SOME_VALUE_1);
+
+        assertThat(sut.findByIdsWithPutNull(new HashSet<>(Arrays.asList(SOME_KEY_1, SOME_KEY_2))))
+                .containsOnly(entry(SOME_KEY_1, SOME_VALUE_1));
+        assertThat(sut.findByIdsWithPutNull(new HashSet<>(Arrays.asList(SOME_KEY_1, SOME_KEY_2))))
+                .containsOnly(entry(SOME_KEY_1, SOME_VALUE_1));
+
+        assertThat(cacheManager.getCache(CACHE_NAME).get(SOME_KEY_2)).isNotNull();
+        verify(repository).findById(SOME_KEY_1);
+        verify(repository).findById(SOME_KEY_2);
+    }
+
+    @Test
+    public void findByIdsWithRefreshAhead() {
+        when(repository.findById(SOME_KEY_1)).thenReturn(SOME_VALUE_1, SOME_NEW_VALUE_1);
+        when(repository.findById(SOME_KEY_2)).thenReturn(SOME_VALUE_2);
+
+        assertThat(sut.findByIdsWithRefreshAhead(new HashSet<>(Arrays.asList(SOME_KEY_1))))
+                .containsOnly(entry(SOME_KEY_1, SOME_VALUE_1));
+        TICKER_NANOS.addAndGet(TimeUnit.MINUTES.toNanos(59) + TimeUnit.SECONDS.toNanos(30));
+
+        // expiring value is still returned, but refreshed
+        assertThat(sut.findByIdsWithRefreshAhead(new HashSet<>(Arrays.asList(SOME_KEY_1, SOME_KEY_2))))
+                .containsOnly(entry(SOME_KEY_1, SOME_VALUE_1), entry(SOME_KEY_2, SOME_VALUE_2));
+        TICKER_NANOS.addAndGet(TimeUnit.MINUTES.toNanos(1));
+
+        assertThat(sut.findByIdsWithRefreshAhead(new HashSet<>(Arrays.asList(SOME_KEY_1, SOME_KEY_2))))
+                .containsOnly(entry(SOME_KEY_1, SOME_NEW_VALUE_1), entry(SOME_KEY_2, SOME_VALUE_2));
+
+        verify(repository, times(2)).findById(SOME_KEY_1);
+        verify(repository).findById(SOME_KEY_2);
+    }
+
+    @Test
+    public void findByIdsWithStaleAfter() {
+        when(repository.findById(SOME_KEY_1)).thenReturn(SOME_VALUE_1, SOME_NEW_VALUE_1);
+
+        assertThat(sut.findByIdsWithStaleAfter(new HashSet<>(Arrays.asList(SOME_KEY_1))))
+                .containsOnly(entry(SOME_KEY_1, SOME_VALUE_1));
+        TICKER_NANOS.addAndGet(TimeUnit.MINUTES.toNanos(2));
+
+        // stale value is still returned, but refreshed
+        assertThat(sut.findByIdsWithStaleAfter(new HashSet<>(Arrays.asList(SOME_KEY_1))))
+                .containsOnly(entry(SOME_KEY_1, SOME_VALUE_1));
+        assertThat(sut.findByIdsWithStaleAfter(new HashSet<>(Arrays.asList(SOME_KEY_1))))
+                .containsOnly(entry(SOME_KEY_1, SOME_NEW_VALUE_1));
+
+        verify(repository, times(2)).findById(SOME_KEY_1);
+    }
+
+    @Test
+    public void findByIdsWithNullTtl() {
+        when(repository.findById(SOME_KEY_1)).thenReturn(SOME_VALUE_1);
+
+        assertThat(sut.findByIdsWithNullTtl(new HashSet<>(Arrays.asList(SOME_KEY_1, SOME_KEY_2))))
+                .containsOnly(entry(SOME_KEY_1, SOME_VALUE_1));
+        assertThat(sut.findByIdsWithNullTtl(new HashSet<>(Arrays.asList(SOME_KEY_1, SOME_KEY_2))))
+                .containsOnly(entry(SOME_KEY_1, SOME_VALUE_1));
+        TICKER_NANOS.addAndGet(TimeUnit.MINUTES.toNanos(2));
+
+        // only the null entry has expired
+        assertThat(sut.findByIdsWithNullTtl(new HashSet<>(Arrays.asList(SOME_KEY_1, SOME_KEY_2))))
+                .containsOnly(entry(SOME_KEY_1, SOME_VALUE_1));
+
+        verify(repository).findById(SOME_KEY_1);
+        verify(repository, times(2)).findById(SOME_KEY_2);
+    }
+
+    @Test
+    public void findByIdsTieredWithNullTtl() {
+        when(repository.findById(SOME_KEY_1)).thenReturn(SOME_VALUE_1);
+
+        assertThat(sut.findByIdsTieredWithNullTtl(new HashSet<>(Arrays.asList(SOME_KEY_1, SOME_KEY_2))))
+                .containsOnly(entry(SOME_KEY_1, SOME_VALUE_1));
+        cacheManager.getCache(NULL_TTL_CACHE_NAME).clear();
+        TICKER_NANOS.addAndGet(TimeUnit.SECONDS.toNanos(30));
+
+        // the null entry is promoted from the second tier with the time to live of null entries
+        assertThat(sut.findByIdsTieredWithNullTtl(new HashSet<>(Arrays.asList(SOME_KEY_1, SOME_KEY_2))))
+                .containsOnly(entry(SOME_KEY_1, SOME_VALUE_1));
+        assertThat(cacheManager.getCache(NULL_TTL_CACHE_NAME).get(SOME_KEY_2)).isNotNull();
+        TICKER_NANOS.addAndGet(TimeUnit.SECONDS.toNanos(90));
+
+        assertThat(cacheManager.getCache(NULL_TTL_CACHE_NAME).get(SOME_KEY_1)).isNotNull();
+        assertThat(cacheManager.getCache(NULL_TTL_CACHE_NAME).get(SOME_KEY_2)).isNull();
+        verify(repository).findById(SOME_KEY_1);
+        verify(repository).findById(SOME_KEY_2);
+    }
+
+    @SpringBootConfiguration
+    @EnableCaching
+    @EnableAutoConfiguration
+    @Import({
+            CollectionCacheableTestRepository.class,
+            ArrayListCollectionCreator.class,
+    })
+    public static class TestConfig {
+
+        @Bean
+        public CacheManager cacheManager() {
+            CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+            cacheManager.setCaffeine(Caffeine.newBuilder()
+                    .expireAfterWrite(1, TimeUnit.HOURS)
+                    .ticker(TICKER_NANOS::get));
+            cacheManager.registerCustomCache(NULL_TTL_CACHE_NAME, Caffeine.newBuilder()
+                    .expireAfter(new FixedExpiry(TimeUnit.HOURS.toNanos(1)))
+                    .ticker(TICKER_NANOS::get)
+                    .build());
+            cacheManager.registerCustomCache(L2_NULL_TTL_CACHE_NAME, Caffeine.newBuilder()
+                    .expireAfter(new FixedExpiry(TimeUnit.HOURS.toNanos(1)))
+                    .ticker(TICKER_NANOS::get)
+                    .build());
+            return cacheManager;
+        }
+
+        @Bean
+        public Executor collectionCacheableRefreshExecutor() {
+            // refresh in the calling thread to make the test deterministic
+            return new SyncTaskExecutor();
+        }
+    }
+}
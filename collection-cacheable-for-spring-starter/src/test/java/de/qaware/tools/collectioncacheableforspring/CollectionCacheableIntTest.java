@@ -3,6 +3,7 @@ package de.qaware.tools.collectioncacheableforspring;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.SpringBootConfiguration;
 import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
@@ -11,21 +12,38 @@ import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.cache.concurrent.ConcurrentMapCache;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Import;
 import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
 
 import static de.qaware.tools.collectioncacheableforspring.CollectionCacheableTestRepository.CACHE_NAME;
+import static de.qaware.tools.collectioncacheableforspring.CollectionCacheableTestRepository.L2_CACHE_NAME;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.assertj.core.api.Assertions.entry;
+import static org.mockito.AdditionalMatchers.aryEq;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
@@ -116,6 +134,20 @@ public class CollectionCacheableIntTest {
         verify(repository).findById(SOME_KEY_2);
     }
 
+    @Test
+    public void findByIdLinkedList() {
+        when(repository.findById(SOME_KEY_1)).thenReturn(SOME_VALUE_1);
+        when(repository.findById(SOME_KEY_2)).thenReturn(SOME_VALUE_2);
+
+        assertThat(sut.findByIdsList(listOf(SOME_KEY_1)))
+                .containsOnly(entry(SOME_KEY_1, SOME_VALUE_1));
+        assertThat(sut.findByIdsLinkedList(new LinkedList<>(listOf(SOME_KEY_1, SOME_KEY_2))))
+                .containsOnly(entry(SOME_KEY_1, SOME_VALUE_1), entry(SOME_KEY_2, SOME_VALUE_2));
+
+        verify(repository).findById(SOME_KEY_1);
+        verify(repository).findById(SOME_KEY_2);
+    }
+
     @Test
     public void findByIdArrayListCollectionCreator() {
         when(repository.findById(SOME_KEY_1)).thenReturn(SOME_VALUE_1);
@@ -201,6 +233,23 @@ public class CollectionCacheableIntTest {
         verify(repository).findById(SOME_KEY_2);
     }
 
+    @Test
+    public void findByIdsWithCondition_notFulfilledPassesCreatedCollection() {
+        when(repository.findByIds(any())).thenAnswer(invocation -> findByIdsInDb(invocation.getArgument(0),
+                mapOf(SOME_KEY_1, SOME_VALUE_1)));
+        Set<CollectionCacheableTestId> ids = setOf(SOME_KEY_1, SOME_KEY_2, SOME_KEY_3);
+
+        // the method gets the ids as created by the collection creator, even if the condition is not met
+        assertThat(sut.findByIdsWithConditionInDb(ids)).containsOnly(entry(SOME_KEY_1, SOME_VALUE_1));
+
+        ArgumentCaptor<Collection<CollectionCacheableTestId>> argument = ArgumentCaptor.forClass(Collection.class);
+        verify(repository).findByIds(argument.capture());
+        assertThat(argument.getValue())
+                .isInstanceOf(ArrayList.class)
+                .isNotSameAs(ids)
+                .containsExactlyInAnyOrder(SOME_KEY_1, SOME_KEY_2, SOME_KEY_3);
+    }
+
     @Test
     public void findByIdsWithUnless_notFulfilled() {
         when(repository.findById(SOME_KEY_1)).thenReturn(SOME_VALUE_1);
@@ -261,6 +310,496 @@ public class CollectionCacheableIntTest {
         verify(repository).findById(SOME_KEY_2);
     }
 
+    @Test
+    public void findByIdsWithSync() throws Exception {
+        CountDownLatch firstLoadStarted = new CountDownLatch(1);
+        CountDownLatch secondLoadStarted = new CountDownLatch(1);
+        CountDownLatch firstLoadReleased = new CountDownLatch(1);
+        when(repository.findById(SOME_KEY_1)).thenAnswer(invocation -> {
+            firstLoadStarted.countDown();
+            firstLoadReleased.await();
+            return SOME_VALUE_1;
+        });
+        when(repository.findById(SOME_KEY_2)).thenReturn(SOME_VALUE_2);
+        when(repository.findById(SOME_KEY_3)).thenAnswer(invocation -> {
+            secondLoadStarted.countDown();
+            return SOME_VALUE_3;
+        });
+
+        ExecutorService executorService = Executors.newFixedThreadPool(2);
+        try {
+            Future<Map<CollectionCacheableTestId, CollectionCacheableTestValue>> first =
+                    executorService.submit(() -> sut.findByIdsWithSync(setOf(SOME_KEY_1, SOME_KEY_2)));
+            assertThat(firstLoadStarted.await(10, TimeUnit.SECONDS)).isTrue();
+
+            // second call only loads SOME_KEY_3 and waits for the first call to load the others
+            Future<Map<CollectionCacheableTestId, CollectionCacheableTestValue>> second =
+                    executorService.submit(() -> sut.findByIdsWithSync(setOf(SOME_KEY_1, SOME_KEY_2, SOME_KEY_3)));
+            assertThat(secondLoadStarted.await(10, TimeUnit.SECONDS)).isTrue();
+            firstLoadReleased.countDown();
+
+            assertThat(first.get(10, TimeUnit.SECONDS))
+                    .containsOnly(entry(SOME_KEY_1, SOME_VALUE_1), entry(SOME_KEY_2, SOME_VALUE_2));
+            assertThat(second.get(10, TimeUnit.SECONDS))
+                    .containsOnly(entry(SOME_KEY_1, SOME_VALUE_1), entry(SOME_KEY_2, SOME_VALUE_2), entry(SOME_KEY_3, SOME_VALUE_3));
+        } finally {
+            executorService.shutdownNow();
+        }
+
+        verify(repository).findById(SOME_KEY_1);
+        verify(repository).findById(SOME_KEY_2);
+        verify(repository).findById(SOME_KEY_3);
+    }
+
+    @Test
+    public void findByIdsWithSync_failedLoad() throws Exception {
+        CountDownLatch firstLoadStarted = new CountDownLatch(1);
+        CountDownLatch secondLoadStarted = new CountDownLatch(1);
+        CountDownLatch firstLoadReleased = new CountDownLatch(1);
+        when(repository.findById(SOME_KEY_1)).thenAnswer(invocation -> {
+            firstLoadStarted.countDown();
+            firstLoadReleased.await();
+            throw new IllegalStateException("failed load");
+        });
+        when(repository.findById(SOME_KEY_2)).thenAnswer(invocation -> {
+            secondLoadStarted.countDown();
+            return SOME_VALUE_2;
+        });
+
+        ExecutorService executorService = Executors.newFixedThreadPool(2);
+        try {
+            Future<?> first = executorService.submit(() -> sut.findByIdsWithSync(setOf(SOME_KEY_1)));
+            assertThat(firstLoadStarted.await(10, TimeUnit.SECONDS)).isTrue();
+            Future<?> second = executorService.submit(() -> sut.findByIdsWithSync(setOf(SOME_KEY_1, SOME_KEY_2)));
+            assertThat(secondLoadStarted.await(10, TimeUnit.SECONDS)).isTrue();
+            firstLoadReleased.countDown();
+
+            assertThatThrownBy(() -> first.get(10, TimeUnit.SECONDS)).hasRootCauseMessage("failed load");
+            assertThatThrownBy(() -> second.get(10, TimeUnit.SECONDS)).hasRootCauseMessage("failed load");
+        } finally {
+            executorService.shutdownNow();
+        }
+
+        // SOME_KEY_2 was cached although the awaited load failed
+        assertThat(sut.findByIdsWithSync(setOf(SOME_KEY_2))).containsOnly(entry(SOME_KEY_2, SOME_VALUE_2));
+        verify(repository).findById(SOME_KEY_2);
+    }
+
+    @Test
+    public void findByIdsWithMaxBatchSize() {
+        CollectionCacheableTestId someKey4 = new CollectionCacheableTestId("some-key-4");
+        when(repository.findById(SOME_KEY_1)).thenReturn(SOME_VALUE_1);
+        when(repository.findByIds(any())).thenAnswer(invocation -> findByIdsInDb(invocation.getArgument(0),
+                mapOf(SOME_KEY_2, SOME_VALUE_2, SOME_KEY_3, SOME_VALUE_3)));
+
+        assertThat(sut.findById(SOME_KEY_1)).isEqualTo(SOME_VALUE_1);
+        assertThat(sut.findByIdsWithMaxBatchSize(setOf(SOME_KEY_1, SOME_KEY_2, SOME_KEY_3, someKey4)))
+                .containsOnly(entry(SOME_KEY_1, SOME_VALUE_1), entry(SOME_KEY_2, SOME_VALUE_2), entry(SOME_KEY_3, SOME_VALUE_3));
+        assertThat(sut.findByIdsWithMaxBatchSize(setOf(SOME_KEY_1, SOME_KEY_2, SOME_KEY_3, someKey4)))
+                .containsOnly(entry(SOME_KEY_1, SOME_VALUE_1), entry(SOME_KEY_2, SOME_VALUE_2), entry(SOME_KEY_3, SOME_VALUE_3));
+
+        ArgumentCaptor<Collection<CollectionCacheableTestId>> batches = ArgumentCaptor.forClass(Collection.class);
+        verify(repository, times(2)).findByIds(batches.capture());
+        assertThat(batches.getAllValues())
+                .allSatisfy(batch -> assertThat(batch).hasSizeLessThanOrEqualTo(2))
+                .flatExtracting(batch -> batch)
+                .containsExactlyInAnyOrder(SOME_KEY_2, SOME_KEY_3, someKey4);
+    }
+
+    @Test
+    public void findByIdsListOfValuesWithMaxBatchSize() {
+        when(repository.findByIds(any())).thenAnswer(invocation -> findByIdsInDb(invocation.getArgument(0),
+                mapOf(SOME_KEY_1, SOME_VALUE_1, SOME_KEY_2, SOME_VALUE_2, SOME_KEY_3, SOME_VALUE_3)));
+
+        assertThat(sut.findByIdsListOfValuesWithMaxBatchSize(setOf(SOME_KEY_1, SOME_KEY_2, SOME_KEY_3)))
+                .containsExactlyInAnyOrder(SOME_ENTITY_1, SOME_ENTITY_2, new CollectionCacheableTestEntity(SOME_KEY_3, SOME_VALUE_3));
+        assertThat(sut.findByIdsListOfValuesWithMaxBatchSize(setOf(SOME_KEY_1, SOME_KEY_2)))
+                .containsExactlyInAnyOrder(SOME_ENTITY_1, SOME_ENTITY_2);
+
+        verify(repository, times(2)).findByIds(any());
+    }
+
+    @Test
+    public void findByIdsInParallel() {
+        CollectionCacheableTestId someKey4 = new CollectionCacheableTestId("some-key-4");
+        CountDownLatch firstBatchesStarted = new CountDownLatch(2);
+        AtomicInteger runningBatches = new AtomicInteger();
+        AtomicInteger maxRunningBatches = new AtomicInteger();
+        Set<Thread> batchThreads = Collections.synchronizedSet(new HashSet<>());
+        when(repository.findByIds(any())).thenAnswer(invocation -> {
+            maxRunningBatches.accumulateAndGet(runningBatches.incrementAndGet(), Math::max);
+            batchThreads.add(Thread.currentThread());
+            try {
+                // only returns once two batches are running at the same time
+                firstBatchesStarted.countDown();
+                assertThat(firstBatchesStarted.await(10, TimeUnit.SECONDS)).isTrue();
+                return findByIdsInDb(invocation.getArgument(0),
+                        mapOf(SOME_KEY_1, SOME_VALUE_1, SOME_KEY_2, SOME_VALUE_2, SOME_KEY_3, SOME_VALUE_3));
+            } finally {
+                runningBatches.decrementAndGet();
+            }
+        });
+
+        assertThat(sut.findByIdsInParallel(setOf(SOME_KEY_1, SOME_KEY_2, SOME_KEY_3, someKey4)))
+                .containsOnly(entry(SOME_KEY_1, SOME_VALUE_1), entry(SOME_KEY_2, SOME_VALUE_2), entry(SOME_KEY_3, SOME_VALUE_3));
+        assertThat(sut.findByIdsInParallel(setOf(SOME_KEY_1, SOME_KEY_2, SOME_KEY_3)))
+                .containsOnly(entry(SOME_KEY_1, SOME_VALUE_1), entry(SOME_KEY_2, SOME_VALUE_2), entry(SOME_KEY_3, SOME_VALUE_3));
+
+        verify(repository, times(4)).findByIds(any());
+        assertThat(maxRunningBatches).hasValue(2);
+        assertThat(batchThreads).doesNotContain(Thread.currentThread());
+    }
+
+    @Test
+    public void findByIdsInParallel_failedBatch() {
+        CountDownLatch batchesStarted = new CountDownLatch(2);
+        when(repository.findByIds(any())).thenAnswer(invocation -> {
+            batchesStarted.countDown();
+            assertThat(batchesStarted.await(10, TimeUnit.SECONDS)).isTrue();
+            Collection<CollectionCacheableTestId> ids = invocation.getArgument(0);
+            if (ids.contains(SOME_KEY_2)) {
+                throw new IllegalStateException("failed batch");
+            }
+            return findByIdsInDb(ids, mapOf(SOME_KEY_1, SOME_VALUE_1));
+        });
+
+        assertThatThrownBy(() -> sut.findByIdsInParallel(setOf(SOME_KEY_1, SOME_KEY_2)))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("failed batch");
+
+        // the successful batch was cached although the other one failed
+        assertThat(sut.findByIdsInParallel(setOf(SOME_KEY_1))).containsOnly(entry(SOME_KEY_1, SOME_VALUE_1));
+        verify(repository, times(2)).findByIds(any());
+    }
+
+    @Test
+    public void findByIdsInParallel_activeTransaction() {
+        Set<Thread> batchThreads = Collections.synchronizedSet(new HashSet<>());
+        when(repository.findByIds(any())).thenAnswer(invocation -> {
+            batchThreads.add(Thread.currentThread());
+            return findByIdsInDb(invocation.getArgument(0), mapOf(SOME_KEY_1, SOME_VALUE_1, SOME_KEY_2, SOME_VALUE_2));
+        });
+
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        try {
+            assertThat(sut.findByIdsInParallel(setOf(SOME_KEY_1, SOME_KEY_2)))
+                    .containsOnly(entry(SOME_KEY_1, SOME_VALUE_1), entry(SOME_KEY_2, SOME_VALUE_2));
+        } finally {
+            TransactionSynchronizationManager.setActualTransactionActive(false);
+        }
+
+        verify(repository, times(2)).findByIds(any());
+        assertThat(batchThreads).containsExactly(Thread.currentThread());
+    }
+
+    @Test
+    public void findByIdsAsync() throws Exception {
+        CompletableFuture<Map<CollectionCacheableTestId, CollectionCacheableTestValue>> dbFuture = new CompletableFuture<>();
+        when(repository.findById(SOME_KEY_1)).thenReturn(SOME_VALUE_1);
+        when(repository.findByIdsAsync(any())).thenReturn(dbFuture);
+
+        assertThat(sut.findById(SOME_KEY_1)).isEqualTo(SOME_VALUE_1);
+        CompletableFuture<Map<CollectionCacheableTestId, CollectionCacheableTestValue>> first = sut.findByIdsAsync(setOf(SOME_KEY_1, SOME_KEY_2));
+
+        // only the remaining id is passed to the method, the result is only available once the future completes
+        verify(repository).findByIdsAsync(Collections.singletonList(SOME_KEY_2));
+        assertThat(first).isNotDone();
+        dbFuture.complete(mapOf(SOME_KEY_2, SOME_VALUE_2));
+        assertThat(first.get(10, TimeUnit.SECONDS))
+                .containsOnly(entry(SOME_KEY_1, SOME_VALUE_1), entry(SOME_KEY_2, SOME_VALUE_2));
+
+        // all ids are cached now, so the future is completed right away
+        CompletableFuture<Map<CollectionCacheableTestId, CollectionCacheableTestValue>> second = sut.findByIdsAsync(setOf(SOME_KEY_1, SOME_KEY_2));
+        assertThat(second).isDone();
+        assertThat(second.get())
+                .containsOnly(entry(SOME_KEY_1, SOME_VALUE_1), entry(SOME_KEY_2, SOME_VALUE_2));
+        verify(repository).findByIdsAsync(any());
+    }
+
+    @Test
+    public void findByIdsAsync_failedFuture() {
+        CompletableFuture<Map<CollectionCacheableTestId, CollectionCacheableTestValue>> dbFuture = new CompletableFuture<>();
+        dbFuture.completeExceptionally(new IllegalStateException("failed load"));
+        when(repository.findByIdsAsync(any())).thenReturn(dbFuture);
+
+        assertThatThrownBy(() -> sut.findByIdsAsync(setOf(SOME_KEY_1)).get(10, TimeUnit.SECONDS))
+                .hasRootCauseMessage("failed load");
+        assertThatThrownBy(() -> sut.findByIdsAsync(setOf(SOME_KEY_1)).get(10, TimeUnit.SECONDS))
+                .hasRootCauseMessage("failed load");
+
+        verify(repository, times(2)).findByIdsAsync(any());
+    }
+
+    @Test
+    public void findByIdsListOfValuesAsync() throws Exception {
+        when(repository.findByIdsAsync(any())).thenAnswer(invocation -> CompletableFuture.completedFuture(
+                findByIdsInDb(invocation.getArgument(0), mapOf(SOME_KEY_1, SOME_VALUE_1, SOME_KEY_2, SOME_VALUE_2))));
+
+        assertThat(sut.findByIdsListOfValuesAsync(setOf(SOME_KEY_1)).get(10, TimeUnit.SECONDS))
+                .containsExactly(SOME_ENTITY_1);
+        assertThat(sut.findByIdsListOfValuesAsync(setOf(SOME_KEY_1, SOME_KEY_2)).get(10, TimeUnit.SECONDS))
+                .containsExactlyInAnyOrder(SOME_ENTITY_1, SOME_ENTITY_2);
+
+        verify(repository).findByIdsAsync(Collections.singletonList(SOME_KEY_1));
+        verify(repository).findByIdsAsync(Collections.singletonList(SOME_KEY_2));
+    }
+
+    @Test
+    public void findByLongIds() {
+        when(repository.findByLongIds(any())).thenAnswer(invocation -> Arrays.stream((long[]) invocation.getArgument(0))
+                .filter(id -> id != 3L)
+                .boxed()
+                .collect(Collectors.toMap(id -> id, id -> new CollectionCacheableTestValue("value-" + id))));
+
+        assertThat(sut.findByLongIds(new long[]{1L, 2L}))
+                .containsOnly(entry(1L, new CollectionCacheableTestValue("value-1")), entry(2L, new CollectionCacheableTestValue("value-2")));
+        assertThat(sut.findByLongIds(new long[]{2L, 3L}))
+                .containsOnly(entry(2L, new CollectionCacheableTestValue("value-2")));
+
+        verify(repository).findByLongIds(aryEq(new long[]{1L, 2L}));
+        verify(repository).findByLongIds(aryEq(new long[]{3L}));
+        verifyNoMoreInteractions(repository);
+    }
+
+    @Test
+    public void findByIntIdsWithMaxBatchSize() {
+        when(repository.findByIntIds(any())).thenAnswer(invocation -> Arrays.stream((int[]) invocation.getArgument(0))
+                .boxed()
+                .collect(Collectors.toMap(id -> id, id -> new CollectionCacheableTestValue("value-" + id))));
+
+        assertThat(sut.findByIntIdsWithMaxBatchSize(new int[]{1}))
+                .containsOnlyKeys(1);
+        assertThat(sut.findByIntIdsWithMaxBatchSize(new int[]{1, 2, 3, 4}))
+                .containsOnlyKeys(1, 2, 3, 4);
+
+        verify(repository).findByIntIds(aryEq(new int[]{1}));
+        verify(repository).findByIntIds(aryEq(new int[]{2, 3}));
+        verify(repository).findByIntIds(aryEq(new int[]{4}));
+        verifyNoMoreInteractions(repository);
+    }
+
+    @Test
+    public void findByIdsWithAbsentIdsFilter() {
+        when(repository.findById(SOME_KEY_1)).thenReturn(SOME_VALUE_1);
+
+        // find it two times, but database is only asked once also for the absent id
+        assertThat(sut.findByIdsWithAbsentIdsFilter(setOf(SOME_KEY_1, SOME_KEY_2)))
+                .containsOnly(entry(SOME_KEY_1, SOME_VALUE_1));
+        assertThat(sut.findByIdsWithAbsentIdsFilter(setOf(SOME_KEY_1, SOME_KEY_2)))
+                .containsOnly(entry(SOME_KEY_1, SOME_VALUE_1));
+
+        assertThat(cacheManager.getCache(CACHE_NAME).get(SOME_KEY_2)).isNull();
+        verify(repository).findById(SOME_KEY_1);
+        verify(repository).findById(SOME_KEY_2);
+        verifyNoMoreInteractions(repository);
+    }
+
+    @Test
+    public void findByIdsWithAbsentIdsFilter_cachedLater() {
+        when(repository.findById(SOME_KEY_1)).thenReturn(SOME_VALUE_1);
+
+        // the filter outlives the cache of each test, so this test records another id than the one above
+
+        assertThat(sut.findByIdsWithAbsentIdsFilter(setOf(SOME_KEY_1, SOME_KEY_3)))
+                .containsOnly(entry(SOME_KEY_1, SOME_VALUE_1));
+
+        // the absent id is created and cached by another method
+        when(repository.findById(SOME_KEY_3)).thenReturn(SOME_VALUE_3);
+        assertThat(sut.findById(SOME_KEY_3)).isEqualTo(SOME_VALUE_3);
+
+        // the cached id is found although it is recorded as absent
+        assertThat(sut.findByIdsWithAbsentIdsFilter(setOf(SOME_KEY_1, SOME_KEY_3)))
+                .containsOnly(entry(SOME_KEY_1, SOME_VALUE_1), entry(SOME_KEY_3, SOME_VALUE_3));
+
+        verify(repository).findById(SOME_KEY_1);
+        verify(repository, times(2)).findById(SOME_KEY_3);
+        verifyNoMoreInteractions(repository);
+    }
+
+    @Test
+    public void findByIdsWithAbsentIdsFilter_keptPerMethod() {
+        CollectionCacheableTestId absentKey = new CollectionCacheableTestId("absent-key");
+
+        assertThat(sut.findByIdsWithAbsentIdsFilter(setOf(absentKey))).isEmpty();
+        assertThat(sut.findByIdsWithSmallAbsentIdsFilter(setOf(absentKey))).isEmpty();
+        assertThat(sut.findByIdsWithSmallAbsentIdsFilter(setOf(absentKey))).isEmpty();
+
+        // each method asks the database once, as the methods do not share their filters
+        verify(repository, times(2)).findById(absentKey);
+        verifyNoMoreInteractions(repository);
+    }
+
+    @Test
+    public void findByIdsTiered() {
+        ConcurrentMapCache l1Cache = (ConcurrentMapCache) cacheManager.getCache(CACHE_NAME);
+        ConcurrentMapCache l2Cache = new ConcurrentMapCache(L2_CACHE_NAME);
+        when(cacheManager.getCache(L2_CACHE_NAME)).thenReturn(l2Cache);
+        l2Cache.put(SOME_KEY_2, SOME_VALUE_2);
+        when(repository.findById(SOME_KEY_1)).thenReturn(SOME_VALUE_1);
+
+        assertThat(sut.findByIdsTiered(setOf(SOME_KEY_1, SOME_KEY_2)))
+                .containsOnly(entry(SOME_KEY_1, SOME_VALUE_1), entry(SOME_KEY_2, SOME_VALUE_2));
+
+        // hit of the second tier is promoted, loaded value is put into both tiers
+        assertThat(l1Cache.getNativeCache())
+                .containsOnly(entry(SOME_KEY_1, SOME_VALUE_1), entry(SOME_KEY_2, SOME_VALUE_2));
+        assertThat(l2Cache.getNativeCache())
+                .containsOnly(entry(SOME_KEY_1, SOME_VALUE_1), entry(SOME_KEY_2, SOME_VALUE_2));
+        verify(repository).findById(SOME_KEY_1);
+        verifyNoMoreInteractions(repository);
+    }
+
+    @Test
+    public void findByIdsMono() {
+        when(repository.findById(SOME_KEY_1)).thenReturn(SOME_VALUE_1);
+        when(repository.findByIdsMono(any())).thenReturn(Mono.just(mapOf(SOME_KEY_2, SOME_VALUE_2)));
+
+        assertThat(sut.findById(SOME_KEY_1)).isEqualTo(SOME_VALUE_1);
+        Mono<Map<CollectionCacheableTestId, CollectionCacheableTestValue>> first = sut.findByIdsMono(setOf(SOME_KEY_1, SOME_KEY_2));
+        // nothing happens before subscribing
+        verify(repository, never()).findByIdsMono(any());
+
+        assertThat(first.block())
+                .containsOnly(entry(SOME_KEY_1, SOME_VALUE_1), entry(SOME_KEY_2, SOME_VALUE_2));
+        assertThat(sut.findByIdsMono(setOf(SOME_KEY_1, SOME_KEY_2)).block())
+                .containsOnly(entry(SOME_KEY_1, SOME_VALUE_1), entry(SOME_KEY_2, SOME_VALUE_2));
+
+        verify(repository).findByIdsMono(Collections.singletonList(SOME_KEY_2));
+    }
+
+    @Test
+    public void findByIdsFlux() {
+        when(repository.findByIdsFlux(any())).thenAnswer(invocation -> Flux.fromIterable(mapToEntities(findByIdsInDb(
+                invocation.getArgument(0), mapOf(SOME_KEY_1, SOME_VALUE_1, SOME_KEY_2, SOME_VALUE_2)))));
+
+        assertThat(sut.findByIdsFlux(setOf(SOME_KEY_1)).collectList().block())
+                .containsExactly(SOME_ENTITY_1);
+        // cached items are emitted first
+        assertThat(sut.findByIdsFlux(setOf(SOME_KEY_1, SOME_KEY_2)).collectList().block())
+                .containsExactly(SOME_ENTITY_1, SOME_ENTITY_2);
+
+        verify(repository).findByIdsFlux(Collections.singletonList(SOME_KEY_1));
+        verify(repository).findByIdsFlux(Collections.singletonList(SOME_KEY_2));
+    }
+
+    @Test
+    public void findByIdsFlux_cachesItemsAsTheyAreEmitted() {
+        when(repository.findByIdsFlux(any())).thenReturn(Flux.concat(Flux.just(SOME_ENTITY_1), Flux.never()));
+
+        // the Flux never completes, but the first item is cached anyway
+        assertThat(sut.findByIdsFlux(setOf(SOME_KEY_1, SOME_KEY_2)).blockFirst()).isEqualTo(SOME_ENTITY_1);
+        assertThat(sut.findByIdsFlux(setOf(SOME_KEY_1)).collectList().block())
+                .containsExactly(SOME_ENTITY_1);
+
+        verify(repository).findByIdsFlux(any());
+    }
+
+    @Test
+    public void findByIdsFluxWithPutNull() {
+        when(repository.findByIdsFlux(any())).thenAnswer(invocation -> Flux.fromIterable(mapToEntities(findByIdsInDb(
+                invocation.getArgument(0), mapOf(SOME_KEY_1, SOME_VALUE_1)))));
+
+        assertThat(sut.findByIdsFluxWithPutNull(setOf(SOME_KEY_1, SOME_KEY_2)).collectList().block())
+                .containsExactly(SOME_ENTITY_1);
+        assertThat(sut.findByIdsFluxWithPutNull(setOf(SOME_KEY_1, SOME_KEY_2)).collectList().block())
+                .containsExactly(SOME_ENTITY_1);
+
+        verify(repository).findByIdsFlux(any());
+    }
+
+    @Test
+    public void findAllFlux() {
+        when(repository.findAllFlux()).thenReturn(Flux.just(SOME_ENTITY_1, SOME_ENTITY_2));
+
+        assertThat(sut.findAllFlux().collectList().block())
+                .containsExactly(SOME_ENTITY_1, SOME_ENTITY_2);
+        assertThat(sut.findByIdsFlux(setOf(SOME_KEY_1, SOME_KEY_2)).collectList().block())
+                .containsExactlyInAnyOrder(SOME_ENTITY_1, SOME_ENTITY_2);
+
+        verify(repository, never()).findByIdsFlux(any());
+    }
+
+    @Test
+    public void findByIdBatched() throws Exception {
+        CollectionCacheableTestId otherKey = new CollectionCacheableTestId("other-key");
+        CountDownLatch firstLoadStarted = new CountDownLatch(1);
+        CountDownLatch firstLoadReleased = new CountDownLatch(1);
+        when(repository.findByIds(any())).thenAnswer(invocation -> {
+            Collection<CollectionCacheableTestId> ids = invocation.getArgument(0);
+            if (ids.contains(otherKey)) {
+                firstLoadStarted.countDown();
+                firstLoadReleased.await();
+            }
+            return findByIdsInDb(ids, mapOf(SOME_KEY_1, SOME_VALUE_1, SOME_KEY_2, SOME_VALUE_2));
+        });
+
+        ExecutorService executorService = Executors.newFixedThreadPool(4);
+        try {
+            // nothing else is loaded, so the first batch is loaded right away
+            Future<CollectionCacheableTestValue> first = executorService.submit(() -> sut.findByIdBatched(otherKey));
+            assertThat(firstLoadStarted.await(10, TimeUnit.SECONDS)).isTrue();
+
+            // the first batch is still loaded, so the next batch is only loaded once it is full
+            Future<CollectionCacheableTestValue> second = executorService.submit(() -> sut.findByIdBatched(SOME_KEY_1));
+            Future<CollectionCacheableTestValue> third = executorService.submit(() -> sut.findByIdBatched(SOME_KEY_2));
+            Future<CollectionCacheableTestValue> fourth = executorService.submit(() -> sut.findByIdBatched(SOME_KEY_3));
+
+            assertThat(second.get(10, TimeUnit.SECONDS)).isEqualTo(SOME_VALUE_1);
+            assertThat(third.get(10, TimeUnit.SECONDS)).isEqualTo(SOME_VALUE_2);
+            assertThat(fourth.get(10, TimeUnit.SECONDS)).isNull();
+            firstLoadReleased.countDown();
+            assertThat(first.get(10, TimeUnit.SECONDS)).isNull();
+        } finally {
+            executorService.shutdownNow();
+        }
+
+        // found values are cached by @Cacheable
+        assertThat(sut.findByIdBatchedWithShortDelay(SOME_KEY_1)).isEqualTo(SOME_VALUE_1);
+
+        ArgumentCaptor<Collection<CollectionCacheableTestId>> batch = ArgumentCaptor.forClass(Collection.class);
+        verify(repository, times(2)).findByIds(batch.capture());
+        assertThat(batch.getAllValues().get(0)).containsExactly(otherKey);
+        assertThat(batch.getAllValues().get(1)).containsExactlyInAnyOrder(SOME_KEY_1, SOME_KEY_2, SOME_KEY_3);
+        verify(repository, never()).findById(any());
+    }
+
+    @Test
+    public void findByIdBatched_invokesCollectionMethodThroughProxy() {
+        when(cacheManager.getCache(L2_CACHE_NAME)).thenReturn(new ConcurrentMapCache(L2_CACHE_NAME));
+        when(repository.findByIds(any())).thenAnswer(invocation -> findByIdsInDb(invocation.getArgument(0),
+                mapOf(SOME_KEY_1, SOME_VALUE_1, SOME_KEY_2, SOME_VALUE_2)));
+
+        // batches read from and write to the cache of the collection method
+        assertThat(sut.findByIdsForBatching(listOf(SOME_KEY_1))).containsOnly(entry(SOME_KEY_1, SOME_VALUE_1));
+        assertThat(sut.findByIdBatchedInL2Cache(SOME_KEY_1)).isEqualTo(SOME_VALUE_1);
+        assertThat(sut.findByIdBatchedInL2Cache(SOME_KEY_2)).isEqualTo(SOME_VALUE_2);
+        assertThat(sut.findByIdsForBatching(listOf(SOME_KEY_2))).containsOnly(entry(SOME_KEY_2, SOME_VALUE_2));
+
+        verify(repository).findByIds(Collections.singletonList(SOME_KEY_1));
+        verify(repository).findByIds(Collections.singletonList(SOME_KEY_2));
+        verify(repository, times(2)).findByIds(any());
+    }
+
+    @Test
+    public void findByIdBatchedWithShortDelay() {
+        when(repository.findByIds(any())).thenAnswer(invocation -> findByIdsInDb(invocation.getArgument(0),
+                mapOf(SOME_KEY_1, SOME_VALUE_1)));
+
+        assertThat(sut.findByIdBatchedWithShortDelay(SOME_KEY_1)).isEqualTo(SOME_VALUE_1);
+        assertThat(sut.findByIdBatchedWithShortDelay(SOME_KEY_1)).isEqualTo(SOME_VALUE_1);
+
+        verify(repository).findByIds(Collections.singletonList(SOME_KEY_1));
+    }
+
+    @Test
+    public void findByIdBatched_failedLoad() {
+        when(repository.findByIds(any())).thenThrow(new IllegalStateException("failed load"));
+
+        assertThatThrownBy(() -> sut.findByIdBatchedWithShortDelay(SOME_KEY_1))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("failed load");
+    }
+
     @Test
     public void findAll() {
         when(repository.findAll()).thenReturn(mapOf(SOME_KEY_1, SOME_VALUE_1));
@@ -272,6 +811,41 @@ public class CollectionCacheableIntTest {
         verify(repository, never()).findById(any());
     }
 
+    @Test
+    public void findAllFromCache() {
+        when(repository.findAll()).thenReturn(mapOf(SOME_KEY_1, SOME_VALUE_1, SOME_KEY_2, SOME_VALUE_2));
+
+        // find it two times, but database is only asked once
+        assertThat(sut.findAllFromCache())
+                .containsOnly(entry(SOME_KEY_1, SOME_VALUE_1), entry(SOME_KEY_2, SOME_VALUE_2));
+        assertThat(sut.findAllFromCache())
+                .containsOnly(entry(SOME_KEY_1, SOME_VALUE_1), entry(SOME_KEY_2, SOME_VALUE_2));
+        verify(repository).findAll();
+
+        // evicting any value makes the database being asked again
+        cacheManager.getCache(CACHE_NAME).evict(SOME_KEY_2);
+        assertThat(sut.findAllFromCache())
+                .containsOnly(entry(SOME_KEY_1, SOME_VALUE_1), entry(SOME_KEY_2, SOME_VALUE_2));
+        assertThat(sut.findAllFromCache())
+                .containsOnly(entry(SOME_KEY_1, SOME_VALUE_1), entry(SOME_KEY_2, SOME_VALUE_2));
+        verify(repository, times(2)).findAll();
+    }
+
+    @Test
+    public void deleteByIds() {
+        when(repository.findById(SOME_KEY_1)).thenReturn(SOME_VALUE_1);
+        when(repository.findById(SOME_KEY_2)).thenReturn(SOME_VALUE_2);
+
+        assertThat(sut.findByIds(setOf(SOME_KEY_1, SOME_KEY_2)))
+                .containsOnly(entry(SOME_KEY_1, SOME_VALUE_1), entry(SOME_KEY_2, SOME_VALUE_2));
+        sut.deleteByIds(listOf(SOME_KEY_1));
+
+        // only the deleted id is evicted
+        assertThat(cacheManager.getCache(CACHE_NAME).get(SOME_KEY_1)).isNull();
+        assertThat(cacheManager.getCache(CACHE_NAME).get(SOME_KEY_2, CollectionCacheableTestValue.class)).isEqualTo(SOME_VALUE_2);
+        verify(repository).deleteByIds(listOf(SOME_KEY_1));
+    }
+
     @Test
     public void findAllWithUnless_notFulfilled() {
         when(repository.findAll()).thenReturn(mapOf(SOME_KEY_1, SOME_VALUE_1));
@@ -329,6 +903,27 @@ public class CollectionCacheableIntTest {
     })
     public static class TestConfig {
 
+        @Bean(destroyMethod = "shutdown")
+        public ExecutorService collectionCacheableTestExecutor() {
+            return Executors.newFixedThreadPool(4);
+        }
+    }
+
+    private static Map<CollectionCacheableTestId, CollectionCacheableTestValue> findByIdsInDb(
+            Collection<CollectionCacheableTestId> ids, Map<CollectionCacheableTestId, CollectionCacheableTestValue> db) {
+        Map<CollectionCacheableTestId, CollectionCacheableTestValue> result = new HashMap<>();
+        for (CollectionCacheableTestId id : ids) {
+            if (db.containsKey(id)) {
+                result.put(id, db.get(id));
+            }
+        }
+        return result;
+    }
+
+    private static List<CollectionCacheableTestEntity> mapToEntities(Map<CollectionCacheableTestId, CollectionCacheableTestValue> values) {
+        List<CollectionCacheableTestEntity> entities = new ArrayList<>();
+        values.forEach((id, value) -> entities.add(new CollectionCacheableTestEntity(id, value)));
+        return entities;
     }
 
     @SafeVarargs
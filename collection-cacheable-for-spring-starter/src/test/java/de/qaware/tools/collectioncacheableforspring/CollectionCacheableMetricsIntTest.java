@@ -0,0 +1,123 @@
+package de.qaware.tools.collectioncacheableforspring;
+
+import de.qaware.tools.collectioncacheableforspring.creator.DefaultCollectionCreator;
+import de.qaware.tools.collectioncacheableforspring.metrics.MicrometerCollectionCacheableMetrics;
+import de.qaware.tools.collectioncacheableforspring.returnvalue.DefaultReturnValueConverter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+
+import static de.qaware.tools.collectioncacheableforspring.CollectionCacheableTestRepository.CACHE_NAME;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
+import static org.mockito.Mockito.when;
+
+@RunWith(SpringRunner.class)
+@SpringBootTest
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+public class CollectionCacheableMetricsIntTest {
+
+    private static final CollectionCacheableTestId SOME_KEY_1 = new CollectionCacheableTestId("some-key-1");
+    private static final CollectionCacheableTestValue SOME_VALUE_1 = new CollectionCacheableTestValue("some-value-1");
+    private static final CollectionCacheableTestId SOME_KEY_2 = new CollectionCacheableTestId("some-key-2");
+    private static final CollectionCacheableTestId SOME_KEY_3 = new CollectionCacheableTestId("some-key-3");
+    private static final String OPERATION = "CollectionCacheableTestRepository.findByIdsWithPutNull";
+
+    @Autowired
+    private CollectionCacheableTestRepository sut;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @MockBean
+    private CollectionCacheableTestDbRepository repository;
+
+    @Test
+    public void findByIdsWithPutNull() {
+        when(repository.findById(SOME_KEY_1)).thenReturn(SOME_VALUE_1);
+
+        assertThat(sut.findById(SOME_KEY_1)).isEqualTo(SOME_VALUE_1);
+        assertThat(sut.findByIdsWithPutNull(new HashSet<>(Arrays.asList(SOME_KEY_1, SOME_KEY_2, SOME_KEY_3))))
+                .containsOnly(entry(SOME_KEY_1, SOME_VALUE_1));
+        assertThat(sut.findByIdsWithPutNull(new HashSet<>(Arrays.asList(SOME_KEY_1, SOME_KEY_2, SOME_KEY_3))))
+                .containsOnly(entry(SOME_KEY_1, SOME_VALUE_1));
+
+        assertThat(counter("collection.cacheable.ids.requested")).isEqualTo(6);
+        assertThat(counter("collection.cacheable.ids.hit")).isEqualTo(2);
+        assertThat(counter("collection.cacheable.ids.null.hit")).isEqualTo(2);
+        assertThat(counter("collection.cacheable.ids.miss")).isEqualTo(2);
+        assertThat(meterRegistry.get("collection.cacheable.requested.size").tag("operation", OPERATION).summary().count())
+                .isEqualTo(2);
+        assertThat(meterRegistry.get("collection.cacheable.remaining.size").tag("operation", OPERATION).summary().totalAmount())
+                .isEqualTo(2);
+        assertThat(meterRegistry.get("collection.cacheable.put.size").tag("operation", OPERATION).summary().totalAmount())
+                .isEqualTo(2);
+        assertThat(meterRegistry.get("collection.cacheable.phase").tags("operation", OPERATION, "phase", "lookup").timer().count())
+                .isEqualTo(2);
+        assertThat(meterRegistry.get("collection.cacheable.phase").tags("operation", OPERATION, "phase", "invocation").timer().count())
+                .isEqualTo(1);
+        assertThat(meterRegistry.get("collection.cacheable.phase").tags("operation", OPERATION, "phase", "put").timer().count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    public void cacheTagOfResolvedCaches() throws NoSuchMethodException {
+        Method method = CollectionCacheableTestRepository.class.getMethod("findByIdsWithPutNull", Collection.class);
+        CollectionCacheableOperation.Builder builder = new CollectionCacheableOperation.Builder();
+        builder.setName("resolved");
+        builder.setCollectionCreator(new DefaultCollectionCreator());
+        builder.setReturnValueConverter(new DefaultReturnValueConverter());
+        MicrometerCollectionCacheableMetrics metrics = new MicrometerCollectionCacheableMetrics(meterRegistry);
+
+        metrics.getOperationMetrics(method, builder.build()).recordInvocation(1, 0);
+        builder.setCacheResolver("myCacheResolver");
+        metrics.getOperationMetrics(method, builder.build()).recordInvocation(2, 0);
+
+        assertThat(meterRegistry.get("collection.cacheable.remaining.size").tags("cache", "resolved", "operation", OPERATION)
+                .summary().totalAmount()).isEqualTo(1);
+        assertThat(meterRegistry.get("collection.cacheable.remaining.size").tags("cache", "myCacheResolver", "operation", OPERATION)
+                .summary().totalAmount()).isEqualTo(2);
+    }
+
+    private double counter(String name) {
+        return meterRegistry.get(name).tags("cache", CACHE_NAME, "operation", OPERATION).counter().count();
+    }
+
+    @SpringBootConfiguration
+    @EnableCaching
+    @EnableAutoConfiguration
+    @Import({
+            CollectionCacheableTestRepository.class,
+            ArrayListCollectionCreator.class,
+    })
+    public static class TestConfig {
+
+        @Bean
+        public CacheManager cacheManager() {
+            return new ConcurrentMapCacheManager();
+        }
+
+        @Bean
+        public MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+}
@@ -1,9 +1,30 @@
 package de.qaware.tools.collectioncacheableforspring;
 
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Collection;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 public interface CollectionCacheableTestDbRepository {
     CollectionCacheableTestValue findById(CollectionCacheableTestId id);
 
+    Map<CollectionCacheableTestId, CollectionCacheableTestValue> findByIds(Collection<CollectionCacheableTestId> ids);
+
+    CompletableFuture<Map<CollectionCacheableTestId, CollectionCacheableTestValue>> findByIdsAsync(Collection<CollectionCacheableTestId> ids);
+
+    Mono<Map<CollectionCacheableTestId, CollectionCacheableTestValue>> findByIdsMono(Collection<CollectionCacheableTestId> ids);
+
+    Flux<CollectionCacheableTestEntity> findByIdsFlux(Collection<CollectionCacheableTestId> ids);
+
+    Map<Long, CollectionCacheableTestValue> findByLongIds(long[] ids);
+
+    Map<Integer, CollectionCacheableTestValue> findByIntIds(int[] ids);
+
     Map<CollectionCacheableTestId, CollectionCacheableTestValue> findAll();
+
+    Flux<CollectionCacheableTestEntity> findAllFlux();
+
+    void deleteByIds(Collection<CollectionCacheableTestId> ids);
 }
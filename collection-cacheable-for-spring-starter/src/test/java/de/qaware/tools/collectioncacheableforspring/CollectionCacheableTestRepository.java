@@ -2,19 +2,26 @@ package de.qaware.tools.collectioncacheableforspring;
 
 import org.springframework.cache.annotation.CacheConfig;
 import org.springframework.cache.annotation.Cacheable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
 
 
 @CacheConfig(cacheNames = CollectionCacheableTestRepository.CACHE_NAME)
 public class CollectionCacheableTestRepository {
     public static final String CACHE_NAME = "myCache";
+    public static final String L2_CACHE_NAME = "myL2Cache";
+    public static final String NULL_TTL_CACHE_NAME = "myNullTtlCache";
+    public static final String L2_NULL_TTL_CACHE_NAME = "myL2NullTtlCache";
 
     private final CollectionCacheableTestDbRepository myDbRepository;
 
@@ -47,6 +54,11 @@ public class CollectionCacheableTestRepository {
         return findByIdsInternal(ids);
     }
 
+    @CollectionCacheable(CACHE_NAME)
+    public Map<CollectionCacheableTestId, CollectionCacheableTestValue> findByIdsLinkedList(LinkedList<CollectionCacheableTestId> ids) {
+        return findByIdsInternal(ids);
+    }
+
     @CollectionCacheable(CACHE_NAME)
     public Map<CollectionCacheableTestId, CollectionCacheableTestValue> findByIdsArrayList(ArrayList<CollectionCacheableTestId> ids) {
         return findByIdsInternal(ids);
@@ -68,6 +80,11 @@ public class CollectionCacheableTestRepository {
         return findByIdsInternal(ids);
     }
 
+    @CollectionCacheable(condition = "#ids.size() < 3")
+    public Map<CollectionCacheableTestId, CollectionCacheableTestValue> findByIdsWithConditionInDb(Collection<CollectionCacheableTestId> ids) {
+        return myDbRepository.findByIds(ids);
+    }
+
     @CollectionCacheable(unless = "#result.size() > 1")
     public Map<CollectionCacheableTestId, CollectionCacheableTestValue> findByIdsWithUnless(Collection<CollectionCacheableTestId> ids) {
         return findByIdsInternal(ids);
@@ -83,11 +100,129 @@ public class CollectionCacheableTestRepository {
         return findByIdsInternal(ids);
     }
 
+    @CollectionCacheable(cacheNames = NULL_TTL_CACHE_NAME, putNull = true, nullTtlMillis = 60_000)
+    public Map<CollectionCacheableTestId, CollectionCacheableTestValue> findByIdsWithNullTtl(Collection<CollectionCacheableTestId> ids) {
+        return findByIdsInternal(ids);
+    }
+
+    @CollectionCacheable(cacheNames = {NULL_TTL_CACHE_NAME, L2_NULL_TTL_CACHE_NAME}, tiered = true, putNull = true, nullTtlMillis = 60_000)
+    public Map<CollectionCacheableTestId, CollectionCacheableTestValue> findByIdsTieredWithNullTtl(Collection<CollectionCacheableTestId> ids) {
+        return findByIdsInternal(ids);
+    }
+
+    @CollectionCacheable(absentIdsFilterSize = 1000)
+    public Map<CollectionCacheableTestId, CollectionCacheableTestValue> findByIdsWithAbsentIdsFilter(Collection<CollectionCacheableTestId> ids) {
+        return findByIdsInternal(ids);
+    }
+
+    @CollectionCacheable(absentIdsFilterSize = 10, absentIdsRotationMillis = 60_000)
+    public Map<CollectionCacheableTestId, CollectionCacheableTestValue> findByIdsWithSmallAbsentIdsFilter(Collection<CollectionCacheableTestId> ids) {
+        return findByIdsInternal(ids);
+    }
+
+    @CollectionCacheable(sync = true)
+    public Map<CollectionCacheableTestId, CollectionCacheableTestValue> findByIdsWithSync(Collection<CollectionCacheableTestId> ids) {
+        return findByIdsInternal(ids);
+    }
+
+    @CollectionCacheable(maxBatchSize = 2, putNull = true)
+    public Map<CollectionCacheableTestId, CollectionCacheableTestValue> findByIdsWithMaxBatchSize(Collection<CollectionCacheableTestId> ids) {
+        return myDbRepository.findByIds(ids);
+    }
+
+    @CollectionCacheable(maxBatchSize = 2)
+    public List<CollectionCacheableTestEntity> findByIdsListOfValuesWithMaxBatchSize(Collection<CollectionCacheableTestId> ids) {
+        return mapToEntities(myDbRepository.findByIds(ids));
+    }
+
+    @CollectionCacheable(maxBatchSize = 1, executor = "collectionCacheableTestExecutor", parallelism = 2)
+    public Map<CollectionCacheableTestId, CollectionCacheableTestValue> findByIdsInParallel(Collection<CollectionCacheableTestId> ids) {
+        return myDbRepository.findByIds(ids);
+    }
+
+    @CollectionCacheable(cacheNames = CACHE_NAME, refreshAheadMillis = 60_000, executor = "collectionCacheableRefreshExecutor")
+    public Map<CollectionCacheableTestId, CollectionCacheableTestValue> findByIdsWithRefreshAhead(Collection<CollectionCacheableTestId> ids) {
+        return findByIdsInternal(ids);
+    }
+
+    @CollectionCacheable(cacheNames = CACHE_NAME, staleAfterMillis = 60_000, executor = "collectionCacheableRefreshExecutor")
+    public Map<CollectionCacheableTestId, CollectionCacheableTestValue> findByIdsWithStaleAfter(Collection<CollectionCacheableTestId> ids) {
+        return findByIdsInternal(ids);
+    }
+
+    @CollectionCacheable(cacheNames = {CACHE_NAME, L2_CACHE_NAME}, tiered = true)
+    public Map<CollectionCacheableTestId, CollectionCacheableTestValue> findByIdsTiered(Collection<CollectionCacheableTestId> ids) {
+        return findByIdsInternal(ids);
+    }
+
+    @CollectionCacheable(CACHE_NAME)
+    public CompletableFuture<Map<CollectionCacheableTestId, CollectionCacheableTestValue>> findByIdsAsync(Collection<CollectionCacheableTestId> ids) {
+        return myDbRepository.findByIdsAsync(ids);
+    }
+
+    @CollectionCacheable(CACHE_NAME)
+    public CompletableFuture<List<CollectionCacheableTestEntity>> findByIdsListOfValuesAsync(Collection<CollectionCacheableTestId> ids) {
+        return myDbRepository.findByIdsAsync(ids).thenApply(this::mapToEntities);
+    }
+
+    @CollectionCacheable(CACHE_NAME)
+    public Mono<Map<CollectionCacheableTestId, CollectionCacheableTestValue>> findByIdsMono(Collection<CollectionCacheableTestId> ids) {
+        return myDbRepository.findByIdsMono(ids);
+    }
+
+    @CollectionCacheable(CACHE_NAME)
+    public Flux<CollectionCacheableTestEntity> findByIdsFlux(Collection<CollectionCacheableTestId> ids) {
+        return myDbRepository.findByIdsFlux(ids);
+    }
+
+    @CollectionCacheable(cacheNames = CACHE_NAME, putNull = true)
+    public Flux<CollectionCacheableTestEntity> findByIdsFluxWithPutNull(Collection<CollectionCacheableTestId> ids) {
+        return myDbRepository.findByIdsFlux(ids);
+    }
+
+    @Cacheable(CACHE_NAME)
+    @CollectionCacheableBatched(method = "findByIdsForBatching", maxBatchSize = 3, maxDelayMillis = 10_000)
+    public CollectionCacheableTestValue findByIdBatched(CollectionCacheableTestId id) {
+        return myDbRepository.findById(id);
+    }
+
+    @Cacheable(CACHE_NAME)
+    @CollectionCacheableBatched("findByIdsForBatching")
+    public CollectionCacheableTestValue findByIdBatchedWithShortDelay(CollectionCacheableTestId id) {
+        return myDbRepository.findById(id);
+    }
+
+    @Cacheable(L2_CACHE_NAME)
+    @CollectionCacheableBatched("findByIdsForBatching")
+    public CollectionCacheableTestValue findByIdBatchedInL2Cache(CollectionCacheableTestId id) {
+        return myDbRepository.findById(id);
+    }
+
+    @CollectionCacheable(CACHE_NAME)
+    public Map<CollectionCacheableTestId, CollectionCacheableTestValue> findByIdsForBatching(Collection<CollectionCacheableTestId> ids) {
+        return myDbRepository.findByIds(ids);
+    }
+
+    @CollectionCacheable(CACHE_NAME)
+    public Map<Long, CollectionCacheableTestValue> findByLongIds(long[] ids) {
+        return myDbRepository.findByLongIds(ids);
+    }
+
+    @CollectionCacheable(cacheNames = CACHE_NAME, maxBatchSize = 2)
+    public Map<Integer, CollectionCacheableTestValue> findByIntIdsWithMaxBatchSize(int[] ids) {
+        return myDbRepository.findByIntIds(ids);
+    }
+
     @CollectionCacheable(CACHE_NAME)
     public Map<CollectionCacheableTestId, CollectionCacheableTestValue> findAll() {
         return myDbRepository.findAll();
     }
 
+    @CollectionCacheable(cacheNames = CACHE_NAME, findAllFromCache = true)
+    public Map<CollectionCacheableTestId, CollectionCacheableTestValue> findAllFromCache() {
+        return myDbRepository.findAll();
+    }
+
     @CollectionCacheable(cacheNames = CACHE_NAME, unless = "#result.size() > 1")
     public Map<CollectionCacheableTestId, CollectionCacheableTestValue> findAllWithUnless() {
         return myDbRepository.findAll();
@@ -98,11 +233,21 @@ public class CollectionCacheableTestRepository {
         return myDbRepository.findAll();
     }
 
+    @CollectionCacheable(CACHE_NAME)
+    public Flux<CollectionCacheableTestEntity> findAllFlux() {
+        return myDbRepository.findAllFlux();
+    }
+
     @CollectionCacheable(CACHE_NAME)
     public List<CollectionCacheableTestEntity> findAllListOfValues() {
         return mapToEntities(myDbRepository.findAll());
     }
 
+    @CollectionCacheEvict(CACHE_NAME)
+    public void deleteByIds(Collection<CollectionCacheableTestId> ids) {
+        myDbRepository.deleteByIds(ids);
+    }
+
     private Map<CollectionCacheableTestId, CollectionCacheableTestValue> findByIdsInternal(Collection<CollectionCacheableTestId> ids) {
         // just a "simulation" of an efficient findByIds call to the underlying persistence layer
         // in real use cases, this should be some efficient query!
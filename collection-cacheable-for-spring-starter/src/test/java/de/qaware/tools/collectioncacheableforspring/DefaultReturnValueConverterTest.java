@@ -0,0 +1,59 @@
+package de.qaware.tools.collectioncacheableforspring;
+
+import de.qaware.tools.collectioncacheableforspring.returnvalue.DefaultReturnValueConverter;
+import de.qaware.tools.collectioncacheableforspring.returnvalue.ReturnValueConverter;
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.entry;
+
+public class DefaultReturnValueConverterTest {
+
+    private final DefaultReturnValueConverter sut = new DefaultReturnValueConverter();
+
+    @Test
+    public void convertReturnsMapDelegatingToInvocationResult() {
+        Map<Object, Object> invocationResult = new HashMap<>();
+        invocationResult.put("key-1", "value-1");
+
+        ReturnValueConverter.MapLikeReturnValue returnValue = sut.convert(invocationResult);
+
+        assertThat(returnValue).isInstanceOf(Map.class);
+        assertThat(returnValue.containsKey("key-1")).isTrue();
+        assertThat(returnValue.containsKey("key-2")).isFalse();
+        Map<Object, Object> forEachResult = new HashMap<>();
+        returnValue.forEach(forEachResult::put);
+        assertThat(forEachResult).isEqualTo(invocationResult);
+
+        @SuppressWarnings("unchecked")
+        Map<Object, Object> map = (Map<Object, Object>) returnValue;
+        assertThat(map).isEqualTo(invocationResult).hasSameHashCodeAs(invocationResult).hasToString("{key-1=value-1}");
+        map.put("key-2", "value-2");
+        assertThat(invocationResult).containsOnly(entry("key-1", "value-1"), entry("key-2", "value-2"));
+    }
+
+    @Test
+    public void convertMergesInvocationResultIntoCacheResult() {
+        Map<Object, Object> invocationResult = new HashMap<>();
+        invocationResult.put("key-1", "value-1");
+        Map<Object, Object> cacheResult = new HashMap<>();
+        cacheResult.put("key-2", null);
+
+        ReturnValueConverter.MapLikeReturnValue returnValue = sut.convert(invocationResult, cacheResult);
+
+        assertThat(returnValue).isEqualTo(cacheResult);
+        assertThat(cacheResult).containsOnly(entry("key-1", "value-1"), entry("key-2", null));
+        assertThat(sut.convert(null, cacheResult)).isEqualTo(cacheResult);
+    }
+
+    @Test
+    public void convertRejectsOtherInvocationResults() {
+        assertThatThrownBy(() -> sut.convert("value"))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining(String.class.getName());
+    }
+}
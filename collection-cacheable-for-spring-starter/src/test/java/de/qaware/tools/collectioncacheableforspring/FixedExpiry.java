@@ -0,0 +1,27 @@
+package de.qaware.tools.collectioncacheableforspring;
+
+import com.github.benmanes.caffeine.cache.Expiry;
+
+public class FixedExpiry implements Expiry<Object, Object> {
+
+    private final long nanos;
+
+    public FixedExpiry(long nanos) {
+        this.nanos = nanos;
+    }
+
+    @Override
+    public long expireAfterCreate(Object key, Object value, long currentTime) {
+        return nanos;
+    }
+
+    @Override
+    public long expireAfterUpdate(Object key, Object value, long currentTime, long currentDuration) {
+        return nanos;
+    }
+
+    @Override
+    public long expireAfterRead(Object key, Object value, long currentTime, long currentDuration) {
+        return currentDuration;
+    }
+}
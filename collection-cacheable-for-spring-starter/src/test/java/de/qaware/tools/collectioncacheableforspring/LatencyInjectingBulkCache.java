@@ -0,0 +1,47 @@
+package de.qaware.tools.collectioncacheableforspring;
+
+import de.qaware.tools.collectioncacheableforspring.cache.BulkCache;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class LatencyInjectingBulkCache extends LatencyInjectingCache implements BulkCache {
+
+    private final AtomicInteger getAllCalls = new AtomicInteger();
+    private final AtomicInteger putAllCalls = new AtomicInteger();
+
+    public LatencyInjectingBulkCache(String name, long latencyMillis) {
+        super(name, latencyMillis);
+    }
+
+    @Override
+    public Map<Object, Object> getAll(Collection<?> keys) {
+        getAllCalls.incrementAndGet();
+        simulateRoundTrip();
+        Map<Object, Object> hits = new HashMap<>();
+        for (Object key : keys) {
+            Object storeValue = lookup(key);
+            if (storeValue != null) {
+                hits.put(key, fromStoreValue(storeValue));
+            }
+        }
+        return hits;
+    }
+
+    @Override
+    public void putAll(Map<Object, Object> entries) {
+        putAllCalls.incrementAndGet();
+        simulateRoundTrip();
+        entries.forEach((key, value) -> getNativeCache().put(key, toStoreValue(value)));
+    }
+
+    public int getGetAllCalls() {
+        return getAllCalls.get();
+    }
+
+    public int getPutAllCalls() {
+        return putAllCalls.get();
+    }
+}
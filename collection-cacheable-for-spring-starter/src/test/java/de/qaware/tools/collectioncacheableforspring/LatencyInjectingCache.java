@@ -0,0 +1,51 @@
+package de.qaware.tools.collectioncacheableforspring;
+
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * In-memory cache simulating a remote cache, where each call costs a round trip.
+ */
+public class LatencyInjectingCache extends ConcurrentMapCache {
+
+    private final long latencyMillis;
+    private final AtomicInteger getCalls = new AtomicInteger();
+    private final AtomicInteger putCalls = new AtomicInteger();
+
+    public LatencyInjectingCache(String name, long latencyMillis) {
+        super(name);
+        this.latencyMillis = latencyMillis;
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        getCalls.incrementAndGet();
+        simulateRoundTrip();
+        return super.get(key);
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        putCalls.incrementAndGet();
+        simulateRoundTrip();
+        super.put(key, value);
+    }
+
+    public int getGetCalls() {
+        return getCalls.get();
+    }
+
+    public int getPutCalls() {
+        return putCalls.get();
+    }
+
+    protected void simulateRoundTrip() {
+        try {
+            TimeUnit.MILLISECONDS.sleep(latencyMillis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package de.qaware.tools.collectioncacheableforspring;
+
+import de.qaware.tools.collectioncacheableforspring.returnvalue.ListReturnValueConverter;
+import de.qaware.tools.collectioncacheableforspring.returnvalue.ReturnValueConverter;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.ConcurrentModificationException;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class ListReturnValueConverterTest {
+
+    private static final CollectionCacheableTestId SOME_ID_1 = new CollectionCacheableTestId("id-1");
+    private static final CollectionCacheableTestId SOME_ID_2 = new CollectionCacheableTestId("id-2");
+    private static final CollectionCacheableTestId SOME_ID_3 = new CollectionCacheableTestId("id-3");
+
+    private final ListReturnValueConverter sut = new ListReturnValueConverter();
+
+    @Test
+    public void containsKeyFollowsModifications() {
+        List<CollectionCacheableTestEntity> invocationResult = new ArrayList<>();
+        invocationResult.add(entity(SOME_ID_1));
+
+        ReturnValueConverter.MapLikeReturnValue returnValue = sut.convert(invocationResult);
+
+        assertThat(returnValue.containsKey(SOME_ID_1)).isTrue();
+        assertThat(returnValue.containsKey(SOME_ID_2)).isFalse();
+
+        @SuppressWarnings("unchecked")
+        List<Object> list = (List<Object>) returnValue;
+        list.add(entity(SOME_ID_2));
+        assertThat(returnValue.containsKey(SOME_ID_2)).isTrue();
+
+        list.set(0, entity(SOME_ID_3));
+        assertThat(returnValue.containsKey(SOME_ID_1)).isFalse();
+        assertThat(returnValue.containsKey(SOME_ID_3)).isTrue();
+
+        list.remove(1);
+        assertThat(returnValue.containsKey(SOME_ID_2)).isFalse();
+    }
+
+    @Test
+    public void containsKeyFollowsModificationsOfSubLists() {
+        List<CollectionCacheableTestEntity> invocationResult = new ArrayList<>();
+        invocationResult.add(entity(SOME_ID_1));
+        invocationResult.add(entity(SOME_ID_2));
+
+        ReturnValueConverter.MapLikeReturnValue returnValue = sut.convert(invocationResult);
+
+        assertThat(returnValue.containsKey(SOME_ID_2)).isTrue();
+
+        @SuppressWarnings("unchecked")
+        List<Object> list = (List<Object>) returnValue;
+        list.subList(1, 2).set(0, entity(SOME_ID_3));
+        assertThat(returnValue.containsKey(SOME_ID_2)).isFalse();
+        assertThat(returnValue.containsKey(SOME_ID_3)).isTrue();
+
+        list.subList(0, 2).subList(0, 1).replaceAll(item -> entity(SOME_ID_2));
+        assertThat(returnValue.containsKey(SOME_ID_1)).isFalse();
+        assertThat(returnValue.containsKey(SOME_ID_2)).isTrue();
+
+        list.subList(0, 1).clear();
+        assertThat(returnValue.containsKey(SOME_ID_2)).isFalse();
+        assertThat(list).hasSize(1);
+
+        List<Object> subList = list.subList(0, 1);
+        list.add(entity(SOME_ID_1));
+        assertThatThrownBy(() -> subList.set(0, entity(SOME_ID_2)))
+                .isInstanceOf(ConcurrentModificationException.class);
+        assertThat(returnValue.containsKey(SOME_ID_2)).isFalse();
+    }
+
+    @Test
+    public void containsKeyFollowsSorting() {
+        List<CollectionCacheableTestEntity> invocationResult = new ArrayList<>();
+        invocationResult.add(entity(SOME_ID_2));
+        invocationResult.add(entity(SOME_ID_1));
+
+        ReturnValueConverter.MapLikeReturnValue returnValue = sut.convert(invocationResult);
+
+        assertThat(returnValue.containsKey(SOME_ID_1)).isTrue();
+
+        @SuppressWarnings("unchecked")
+        List<Object> list = (List<Object>) returnValue;
+        list.subList(0, 2).sort(Comparator.comparing(item -> ((CollectionCacheableTestEntity) item).getId().getId()));
+        list.subList(1, 2).clear();
+        assertThat(returnValue.containsKey(SOME_ID_1)).isTrue();
+        assertThat(returnValue.containsKey(SOME_ID_2)).isFalse();
+    }
+
+    @Test
+    public void convertAppendsCacheResultToInvocationResult() {
+        List<CollectionCacheableTestEntity> invocationResult = Collections.singletonList(entity(SOME_ID_1));
+        Map<Object, Object> cacheResult = Collections.singletonMap(SOME_ID_2, entity(SOME_ID_2));
+
+        ReturnValueConverter.MapLikeReturnValue returnValue = sut.convert(invocationResult, cacheResult);
+
+        assertThat(returnValue).isEqualTo(Arrays.asList(entity(SOME_ID_1), entity(SOME_ID_2)));
+        assertThat(returnValue.containsKey(SOME_ID_2)).isTrue();
+        assertThat(sut.convert(null, cacheResult)).isEqualTo(Collections.singletonList(entity(SOME_ID_2)));
+    }
+
+    @Test
+    public void containsKeyRequiresCacheKeys() {
+        ReturnValueConverter.MapLikeReturnValue returnValue = sut.convert(Collections.singletonList("value"));
+
+        assertThatThrownBy(() -> returnValue.containsKey(SOME_ID_1))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("value");
+    }
+
+    private static CollectionCacheableTestEntity entity(CollectionCacheableTestId id) {
+        return new CollectionCacheableTestEntity(id, new CollectionCacheableTestValue("value"));
+    }
+}
@@ -0,0 +1,98 @@
+package de.qaware.tools.collectioncacheableforspring;
+
+import de.qaware.tools.collectioncacheableforspring.creator.DefaultCollectionCreator;
+import de.qaware.tools.collectioncacheableforspring.returnvalue.DefaultReturnValueConverter;
+import org.junit.Test;
+import org.springframework.cache.interceptor.KeyGenerator;
+import org.springframework.cache.interceptor.SimpleKey;
+import org.springframework.cache.interceptor.SimpleKeyGenerator;
+import org.springframework.util.ReflectionUtils;
+
+import java.lang.reflect.Method;
+import java.util.Collection;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class SingleArgumentKeyGeneratorTest {
+
+    private static final Method METHOD = ReflectionUtils.findMethod(SingleArgumentKeyGeneratorTest.class, "findByIds", Collection.class);
+
+    @Test
+    public void simpleKeyGeneratorUsesIdAsKey() {
+        SingleArgumentKeyGenerator sut = create("", new SimpleKeyGenerator());
+
+        assertThat(sut).isNotNull();
+        CollectionCacheableTestId id = new CollectionCacheableTestId("id-1");
+        assertThat(sut.generate(id)).isSameAs(id);
+        assertThat(sut.generate(null)).isNull();
+        assertThat(sut.generate(new String[]{"id-1"})).isNull();
+    }
+
+    @Test
+    public void customKeyGeneratorIsNotSupported() {
+        assertThat(create("", (target, method, params) -> new SimpleKey(params))).isNull();
+    }
+
+    @Test
+    public void argumentReferencesUseIdAsKey() {
+        CollectionCacheableTestId id = new CollectionCacheableTestId("id-1");
+        for (String key : new String[]{"#p0", "#a0", "#ids", "#root.args[0]", " #p0 "}) {
+            SingleArgumentKeyGenerator sut = create(key, new SimpleKeyGenerator());
+            assertThat(sut).as(key).isNotNull();
+            assertThat(sut.generate(id)).as(key).isSameAs(id);
+        }
+    }
+
+    @Test
+    public void propertyReferencesAreEvaluatedOnId() {
+        for (String key : new String[]{"#p0.id", "#ids.id", "#a0.id.bytes.length"}) {
+            SingleArgumentKeyGenerator sut = create(key, new SimpleKeyGenerator());
+            assertThat(sut).as(key).isNotNull();
+            for (int i = 0; i < 200; i++) {
+                // exceeds the threshold for compiling the expression
+                assertThat(sut.generate(new CollectionCacheableTestId("id-" + i))).as(key)
+                        .isEqualTo(key.endsWith("length") ? ("id-" + i).length() : "id-" + i);
+            }
+        }
+    }
+
+    @Test
+    public void failingPropertyReferenceFallsBackToRegularEvaluation() {
+        SingleArgumentKeyGenerator sut = create("#p0.unknown", new SimpleKeyGenerator());
+
+        assertThat(sut).isNotNull();
+        assertThat(sut.generate(new CollectionCacheableTestId("id-1"))).isNull();
+        assertThat(sut.generate(new CollectionCacheableTestId("id-2"))).isNull();
+    }
+
+    @Test
+    public void failingPropertyReferenceOfSingleIdKeepsEvaluatingOtherIds() {
+        SingleArgumentKeyGenerator sut = create("#p0.id.length", new SimpleKeyGenerator());
+
+        assertThat(sut).isNotNull();
+        assertThat(sut.generate(new CollectionCacheableTestId(null))).isNull();
+        assertThat(sut.generate(new CollectionCacheableTestId("id-1"))).isEqualTo(4);
+    }
+
+    @Test
+    public void otherExpressionsAreNotSupported() {
+        for (String key : new String[]{"#p1", "#other", "#root.method", "#result.id", "#p0.getId()", "#p0?.id", "'key' + #p0", "#this"}) {
+            assertThat(create(key, new SimpleKeyGenerator())).as(key).isNull();
+        }
+    }
+
+    private static SingleArgumentKeyGenerator create(String key, KeyGenerator keyGenerator) {
+        CollectionCacheableOperation.Builder builder = new CollectionCacheableOperation.Builder();
+        builder.setName("findByIds");
+        builder.setKey(key);
+        builder.setCollectionCreator(new DefaultCollectionCreator());
+        builder.setReturnValueConverter(new DefaultReturnValueConverter());
+        return SingleArgumentKeyGenerator.create(builder.build(), METHOD, () -> keyGenerator);
+    }
+
+    @SuppressWarnings("unused")
+    private Map<CollectionCacheableTestId, CollectionCacheableTestValue> findByIds(Collection<CollectionCacheableTestId> ids) {
+        return null;
+    }
+}